@@ -6,6 +6,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/api/eight-queens")
 @CrossOrigin(origins = "*")
@@ -24,12 +26,22 @@ public class EightQueensController {
         if (request.getPlayerName() == null || request.getPlayerName().trim().isEmpty()) {
             return ResponseEntity.badRequest().build();
         }
-        if (request.getQueens() == null || request.getQueens().size() != 8) {
+        if (request.getQueens() == null || request.getQueens().size() != EightQueensService.BOARD_SIZE) {
              return ResponseEntity.badRequest().build();
         }
         return ResponseEntity.ok(service.submitSolution(request));
     }
     
+    // Completes asynchronously: the servlet thread is released while the benchmark runs
+    @GetMapping("/benchmark/{n}")
+    public CompletableFuture<ResponseEntity<?>> runBenchmark(@PathVariable int n) {
+        if (n < 1 || n > EightQueensService.MAX_BOARD_SIZE) {
+            return CompletableFuture.completedFuture(
+                    ResponseEntity.badRequest().body("Board size must be between 1 and " + EightQueensService.MAX_BOARD_SIZE));
+        }
+        return service.runBenchmarkAsync(n).thenApply(ResponseEntity::ok);
+    }
+
     @GetMapping("/comparison")
     public ResponseEntity<?> getComparison() {
         try {
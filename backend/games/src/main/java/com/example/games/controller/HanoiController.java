@@ -3,8 +3,12 @@ package com.example.games.controller;
 import com.example.games.dto.HanoiDTOs.*;
 import com.example.games.service.HanoiService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.PrimitiveIterator;
 
 @RestController
 @RequestMapping("/api/hanoi")
@@ -19,10 +23,14 @@ public class HanoiController {
         if (request.getPlayerName() == null || request.getPlayerName().trim().isEmpty()) {
             return ResponseEntity.badRequest().build();
         }
-        if (request.getNumPegs() != 3 && request.getNumPegs() != 4) {
+        if (request.getNumPegs() < 3 || request.getNumPegs() > HanoiService.MAX_PEGS) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(service.startGame(request.getPlayerName(), request.getNumPegs(), request.getNumDisks()));
+        } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().build();
         }
-        return ResponseEntity.ok(service.startGame(request.getPlayerName(), request.getNumPegs()));
     }
 
     @PostMapping("/solve/{gameId}")
@@ -34,6 +42,17 @@ public class HanoiController {
         }
     }
     
+    // Optimal moves streamed as a JSON array, so large games are never held in memory
+    @GetMapping(value = "/moves/{gameId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> getOptimalMoves(@PathVariable String gameId) {
+        try {
+            PrimitiveIterator.OfInt moves = service.optimalMoves(gameId);
+            return ResponseEntity.ok(out -> service.writeMoves(moves, out));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+    
     @GetMapping("/comparison")
     public ResponseEntity<?> getComparison() {
         try {
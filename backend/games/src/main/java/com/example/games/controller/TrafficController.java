@@ -15,22 +15,35 @@ public class TrafficController {
     private TrafficService service;
 
     @PostMapping("/start")
-    public ResponseEntity<TrafficGameData> startGame(@RequestBody StartGameRequest request) {
+    public ResponseEntity<?> startGame(@RequestBody StartGameRequest request) {
         if (request.getPlayerName() == null || request.getPlayerName().trim().isEmpty()) {
             return ResponseEntity.badRequest().build();
         }
-        return ResponseEntity.ok(service.startGame(request.getPlayerName()));
+        try {
+            return ResponseEntity.ok(service.startGame(request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 
     @PostMapping("/solve/{gameId}")
     public ResponseEntity<?> solveGame(@PathVariable String gameId, @RequestBody SolveRequest request) {
         try {
-            return ResponseEntity.ok(service.solveGame(gameId, request.getUserGuess()));
+            return ResponseEntity.ok(service.solveGame(gameId, request.getUserGuess(), request.isCapacityScaling()));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
     
+    @PostMapping("/whatif/{gameId}")
+    public ResponseEntity<?> whatIf(@PathVariable String gameId, @RequestBody WhatIfRequest request) {
+        try {
+            return ResponseEntity.ok(service.whatIf(gameId, request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+    
     @GetMapping("/comparison")
     public ResponseEntity<?> getComparison() {
         try {
@@ -29,6 +29,15 @@ public class TspController {
              return ResponseEntity.badRequest().body(err);
         }
     }
+
+    @PostMapping("/large")
+    public ResponseEntity<?> solveLarge(@RequestBody LargeTspRequest request) {
+        try {
+            return ResponseEntity.ok(service.solveLarge(request));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
     
     @GetMapping("/comparison")
     public ResponseEntity<?> getComparison() {
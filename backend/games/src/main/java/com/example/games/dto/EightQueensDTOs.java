@@ -1,6 +1,7 @@
 package com.example.games.dto;
 
 import java.util.List;
+import java.util.Map;
 
 public class EightQueensDTOs {
 
@@ -19,6 +20,8 @@ public class EightQueensDTOs {
         private boolean isUnique; 
         private String message;
         private int totalDiscovered; 
+        private int fundamentalClass; // 1-based symmetry class of the board, 0 if invalid
+        private int totalFundamentalClasses;
         
         public boolean isValid() { return isValid; }
         public void setValid(boolean isValid) { this.isValid = isValid; }
@@ -28,11 +31,17 @@ public class EightQueensDTOs {
         public void setMessage(String message) { this.message = message; }
         public int getTotalDiscovered() { return totalDiscovered; }
         public void setTotalDiscovered(int totalDiscovered) { this.totalDiscovered = totalDiscovered; }
+        public int getFundamentalClass() { return fundamentalClass; }
+        public void setFundamentalClass(int fundamentalClass) { this.fundamentalClass = fundamentalClass; }
+        public int getTotalFundamentalClasses() { return totalFundamentalClasses; }
+        public void setTotalFundamentalClasses(int totalFundamentalClasses) { this.totalFundamentalClasses = totalFundamentalClasses; }
     }
 
     public static class StatsResponse {
         private long sequentialTimeNs;
         private long threadedTimeNs;
+        private long bitmaskTimeNs;
+        private long symmetricTimeNs;
         private int totalSolutionsFound; 
         private int totalDiscoveredByPlayers;
         
@@ -40,9 +49,26 @@ public class EightQueensDTOs {
         public void setSequentialTimeNs(long sequentialTimeNs) { this.sequentialTimeNs = sequentialTimeNs; }
         public long getThreadedTimeNs() { return threadedTimeNs; }
         public void setThreadedTimeNs(long threadedTimeNs) { this.threadedTimeNs = threadedTimeNs; }
+        public long getBitmaskTimeNs() { return bitmaskTimeNs; }
+        public void setBitmaskTimeNs(long bitmaskTimeNs) { this.bitmaskTimeNs = bitmaskTimeNs; }
+        public long getSymmetricTimeNs() { return symmetricTimeNs; }
+        public void setSymmetricTimeNs(long symmetricTimeNs) { this.symmetricTimeNs = symmetricTimeNs; }
         public int getTotalSolutionsFound() { return totalSolutionsFound; }
         public void setTotalSolutionsFound(int totalSolutionsFound) { this.totalSolutionsFound = totalSolutionsFound; }
         public int getTotalDiscoveredByPlayers() { return totalDiscoveredByPlayers; }
         public void setTotalDiscoveredByPlayers(int totalDiscoveredByPlayers) { this.totalDiscoveredByPlayers = totalDiscoveredByPlayers; }
     }
+
+    public static class NQueensBenchmarkResponse {
+        private int boardSize;
+        private long solutionCount;
+        private Map<String, Long> algorithmTimes; // nanoseconds
+        
+        public int getBoardSize() { return boardSize; }
+        public void setBoardSize(int boardSize) { this.boardSize = boardSize; }
+        public long getSolutionCount() { return solutionCount; }
+        public void setSolutionCount(long solutionCount) { this.solutionCount = solutionCount; }
+        public Map<String, Long> getAlgorithmTimes() { return algorithmTimes; }
+        public void setAlgorithmTimes(Map<String, Long> algorithmTimes) { this.algorithmTimes = algorithmTimes; }
+    }
 }
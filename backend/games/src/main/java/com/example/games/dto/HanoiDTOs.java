@@ -7,12 +7,15 @@ public class HanoiDTOs {
 
     public static class StartGameRequest {
         private String playerName;
-        private int numPegs; // 3 or 4
+        private int numPegs; // 3 to HanoiService.MAX_PEGS
+        private Integer numDisks; // optional, random 5-10 when omitted
         
         public String getPlayerName() { return playerName; }
         public void setPlayerName(String playerName) { this.playerName = playerName; }
         public int getNumPegs() { return numPegs; }
         public void setNumPegs(int numPegs) { this.numPegs = numPegs; }
+        public Integer getNumDisks() { return numDisks; }
+        public void setNumDisks(Integer numDisks) { this.numDisks = numDisks; }
     }
 
     public static class HanoiGameData {
@@ -57,6 +60,9 @@ public class HanoiDTOs {
         private int userMinMoves;
         private Map<String, Long> algorithmTimes;
         private String message;
+        private Boolean sequenceValid;     // null when no sequence was sent
+        private Integer invalidMoveIndex;  // first illegal move, or the sequence length if the tower is unfinished
+        private String sequenceError;
         
         public int getOptimalMinMoves() { return optimalMinMoves; }
         public void setOptimalMinMoves(int optimalMinMoves) { this.optimalMinMoves = optimalMinMoves; }
@@ -68,5 +74,11 @@ public class HanoiDTOs {
         public void setAlgorithmTimes(Map<String, Long> algorithmTimes) { this.algorithmTimes = algorithmTimes; }
         public String getMessage() { return message; }
         public void setMessage(String message) { this.message = message; }
+        public Boolean getSequenceValid() { return sequenceValid; }
+        public void setSequenceValid(Boolean sequenceValid) { this.sequenceValid = sequenceValid; }
+        public Integer getInvalidMoveIndex() { return invalidMoveIndex; }
+        public void setInvalidMoveIndex(Integer invalidMoveIndex) { this.invalidMoveIndex = invalidMoveIndex; }
+        public String getSequenceError() { return sequenceError; }
+        public void setSequenceError(String sequenceError) { this.sequenceError = sequenceError; }
     }
 }
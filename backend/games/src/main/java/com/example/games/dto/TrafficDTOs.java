@@ -7,9 +7,21 @@ public class TrafficDTOs {
 
     public static class StartGameRequest {
         private String playerName;
+        private String networkType; // CLASSIC (default), LAYERED, GRID, RANDOM_SPARSE, RANDOM_DENSE
+        private int nodes;          // target node count, 0 = default for the type
+        private int edges;          // target edge count, 0 = default for the type
+        private Long seed;          // optional, to reproduce a network
 
         public String getPlayerName() { return playerName; }
         public void setPlayerName(String playerName) { this.playerName = playerName; }
+        public String getNetworkType() { return networkType; }
+        public void setNetworkType(String networkType) { this.networkType = networkType; }
+        public int getNodes() { return nodes; }
+        public void setNodes(int nodes) { this.nodes = nodes; }
+        public int getEdges() { return edges; }
+        public void setEdges(int edges) { this.edges = edges; }
+        public Long getSeed() { return seed; }
+        public void setSeed(Long seed) { this.seed = seed; }
     }
 
     public static class EdgeDTO {
@@ -33,22 +45,89 @@ public class TrafficDTOs {
         public void setCapacity(int capacity) { this.capacity = capacity; }
     }
 
+    // An input edge with the flow it carries in the computed max flow
+    public static class EdgeFlowDTO {
+        private String from;
+        private String to;
+        private int capacity;
+        private int flow;
+
+        public EdgeFlowDTO() {}
+
+        public EdgeFlowDTO(String from, String to, int capacity, int flow) {
+            this.from = from;
+            this.to = to;
+            this.capacity = capacity;
+            this.flow = flow;
+        }
+
+        public String getFrom() { return from; }
+        public void setFrom(String from) { this.from = from; }
+        public String getTo() { return to; }
+        public void setTo(String to) { this.to = to; }
+        public int getCapacity() { return capacity; }
+        public void setCapacity(int capacity) { this.capacity = capacity; }
+        public int getFlow() { return flow; }
+        public void setFlow(int flow) { this.flow = flow; }
+    }
+
     public static class TrafficGameData {
         private String gameId;
         private String playerName;
+        private String networkType;
+        private long seed;
         private List<EdgeDTO> edges;
 
         public String getGameId() { return gameId; }
         public void setGameId(String gameId) { this.gameId = gameId; }
         public String getPlayerName() { return playerName; }
         public void setPlayerName(String playerName) { this.playerName = playerName; }
+        public String getNetworkType() { return networkType; }
+        public void setNetworkType(String networkType) { this.networkType = networkType; }
+        public long getSeed() { return seed; }
+        public void setSeed(long seed) { this.seed = seed; }
         public List<EdgeDTO> getEdges() { return edges; }
         public void setEdges(List<EdgeDTO> edges) { this.edges = edges; }
     }
 
     public static class SolveRequest {
         private int userGuess;
+        private boolean capacityScaling; // run Ford-Fulkerson with capacity scaling
+
+        public int getUserGuess() { return userGuess; }
+        public void setUserGuess(int userGuess) { this.userGuess = userGuess; }
+        public boolean isCapacityScaling() { return capacityScaling; }
+        public void setCapacityScaling(boolean capacityScaling) { this.capacityScaling = capacityScaling; }
+    }
+
+    // Capacity change for the edge from -> to (negative delta lowers it)
+    public static class CapacityChangeDTO {
+        private String from;
+        private String to;
+        private int delta;
+
+        public CapacityChangeDTO() {}
+
+        public CapacityChangeDTO(String from, String to, int delta) {
+            this.from = from;
+            this.to = to;
+            this.delta = delta;
+        }
+
+        public String getFrom() { return from; }
+        public void setFrom(String from) { this.from = from; }
+        public String getTo() { return to; }
+        public void setTo(String to) { this.to = to; }
+        public int getDelta() { return delta; }
+        public void setDelta(int delta) { this.delta = delta; }
+    }
+
+    public static class WhatIfRequest {
+        private List<CapacityChangeDTO> changes;
+        private int userGuess; // guess for the max flow after the changes
 
+        public List<CapacityChangeDTO> getChanges() { return changes; }
+        public void setChanges(List<CapacityChangeDTO> changes) { this.changes = changes; }
         public int getUserGuess() { return userGuess; }
         public void setUserGuess(int userGuess) { this.userGuess = userGuess; }
     }
@@ -59,6 +138,8 @@ public class TrafficDTOs {
         private int userGuess;
         private Map<String, Long> algorithmTimes;
         private String message;
+        private List<EdgeDTO> minCut;         // saturated edges from the source side to the sink side
+        private List<EdgeFlowDTO> edgeFlows;  // flow on every edge, in input order
 
         public int getMaxFlow() { return maxFlow; }
         public void setMaxFlow(int maxFlow) { this.maxFlow = maxFlow; }
@@ -70,5 +151,9 @@ public class TrafficDTOs {
         public void setAlgorithmTimes(Map<String, Long> algorithmTimes) { this.algorithmTimes = algorithmTimes; }
         public String getMessage() { return message; }
         public void setMessage(String message) { this.message = message; }
+        public List<EdgeDTO> getMinCut() { return minCut; }
+        public void setMinCut(List<EdgeDTO> minCut) { this.minCut = minCut; }
+        public List<EdgeFlowDTO> getEdgeFlows() { return edgeFlows; }
+        public void setEdgeFlows(List<EdgeFlowDTO> edgeFlows) { this.edgeFlows = edgeFlows; }
     }
 }
@@ -1,5 +1,9 @@
 package com.example.games.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -16,8 +20,11 @@ public class TspDTOs {
         private String gameId;
         private String playerName;
         private String homeCity;
-        // Map<String, Map<String, Integer>>: "A" -> {"B": 50, "C": 70...}
-        private Map<String, Map<String, Integer>> distances;
+        // Canonical distances: city names interned to 0..n-1 and a flat row-major n x n matrix.
+        // The nested map form ("A" -> {"B": 50, ...}) is only built for JSON.
+        private String[] cities = new String[0];
+        private Map<String, Integer> cityIndex = new HashMap<>();
+        private int[] distanceMatrix = new int[0];
 
         public String getGameId() { return gameId; }
         public void setGameId(String gameId) { this.gameId = gameId; }
@@ -25,8 +32,70 @@ public class TspDTOs {
         public void setPlayerName(String playerName) { this.playerName = playerName; }
         public String getHomeCity() { return homeCity; }
         public void setHomeCity(String homeCity) { this.homeCity = homeCity; }
-        public Map<String, Map<String, Integer>> getDistances() { return distances; }
-        public void setDistances(Map<String, Map<String, Integer>> distances) { this.distances = distances; }
+
+        public Map<String, Map<String, Integer>> getDistances() {
+            Map<String, Map<String, Integer>> distances = new LinkedHashMap<>();
+            for (int i = 0; i < cities.length; i++) {
+                Map<String, Integer> row = new LinkedHashMap<>();
+                for (int j = 0; j < cities.length; j++) row.put(cities[j], distance(i, j));
+                distances.put(cities[i], row);
+            }
+            return distances;
+        }
+
+        public void setDistances(Map<String, Map<String, Integer>> distances) {
+            String[] names = distances.keySet().toArray(new String[0]);
+            int n = names.length;
+            int[] matrix = new int[n * n];
+            for (int i = 0; i < n; i++) {
+                Map<String, Integer> row = distances.get(names[i]);
+                for (int j = 0; j < n; j++) matrix[i * n + j] = row.get(names[j]);
+            }
+            setDistanceMatrix(names, matrix);
+        }
+
+        public void setDistanceMatrix(String[] cities, int[] matrix) {
+            if (matrix.length != cities.length * cities.length) {
+                throw new IllegalArgumentException("Distance matrix must be " + cities.length + " x " + cities.length);
+            }
+            Map<String, Integer> index = new HashMap<>();
+            for (int i = 0; i < cities.length; i++) index.put(cities[i], i);
+            this.cities = cities.clone();
+            this.cityIndex = index;
+            this.distanceMatrix = matrix;
+        }
+
+        @JsonIgnore
+        public int[] getDistanceMatrix() { return distanceMatrix; }
+        @JsonIgnore
+        public int getCityCount() { return cities.length; }
+
+        // Index of a city name, or -1 if it is not part of this game
+        public int indexOf(String city) {
+            Integer i = cityIndex.get(city);
+            return i != null ? i : -1;
+        }
+
+        public String cityName(int i) { return cities[i]; }
+
+        public int distance(int i, int j) { return distanceMatrix[i * cities.length + j]; }
+    }
+
+    // Optimal tour of one city selection, with the algorithm times measured when it was first solved
+    public static class SolvedTour {
+        private final int minDistance;
+        private final List<String> optimalPath;
+        private final Map<String, Long> algorithmTimes;
+
+        public SolvedTour(int minDistance, List<String> optimalPath, Map<String, Long> algorithmTimes) {
+            this.minDistance = minDistance;
+            this.optimalPath = List.copyOf(optimalPath);
+            this.algorithmTimes = Map.copyOf(algorithmTimes);
+        }
+
+        public int getMinDistance() { return minDistance; }
+        public List<String> getOptimalPath() { return optimalPath; }
+        public Map<String, Long> getAlgorithmTimes() { return algorithmTimes; }
     }
 
     public static class SolveTspRequest {
@@ -50,6 +119,7 @@ public class TspDTOs {
         private Map<String, String> algorithmComplexities; // "BruteForce" -> "O(N!)"
         
         private String message;
+        private boolean cached; // optimal tour and times reused from an earlier solve of the same selection
 
         public boolean isCorrect() { return isCorrect; }
         public void setCorrect(boolean correct) { isCorrect = correct; }
@@ -65,5 +135,62 @@ public class TspDTOs {
         public void setAlgorithmComplexities(Map<String, String> algorithmComplexities) { this.algorithmComplexities = algorithmComplexities; }
         public String getMessage() { return message; }
         public void setMessage(String message) { this.message = message; }
+        public boolean isCached() { return cached; }
+        public void setCached(boolean cached) { this.cached = cached; }
+    }
+
+    // Large Euclidean benchmark: random cities, heuristics timed against each other
+    public static class LargeTspRequest {
+        private Integer cities;    // default 1000
+        private Long seed;         // random when absent
+        private Integer neighbors; // neighbour list size, default 10
+        private Integer kicks;     // chained Or-opt perturbations, default 1000
+
+        public Integer getCities() { return cities; }
+        public void setCities(Integer cities) { this.cities = cities; }
+        public Long getSeed() { return seed; }
+        public void setSeed(Long seed) { this.seed = seed; }
+        public Integer getNeighbors() { return neighbors; }
+        public void setNeighbors(Integer neighbors) { this.neighbors = neighbors; }
+        public Integer getKicks() { return kicks; }
+        public void setKicks(Integer kicks) { this.kicks = kicks; }
+    }
+
+    public static class HeuristicRunDTO {
+        private long length;
+        private long timeNs;
+        private Double gapPercent; // above the Held-Karp optimum, when it was computed
+
+        public HeuristicRunDTO() {}
+        public HeuristicRunDTO(long length, long timeNs) { this.length = length; this.timeNs = timeNs; }
+
+        public long getLength() { return length; }
+        public void setLength(long length) { this.length = length; }
+        public long getTimeNs() { return timeNs; }
+        public void setTimeNs(long timeNs) { this.timeNs = timeNs; }
+        public Double getGapPercent() { return gapPercent; }
+        public void setGapPercent(Double gapPercent) { this.gapPercent = gapPercent; }
+    }
+
+    public static class LargeTspResult {
+        private int cities;
+        private long seed;
+        private int neighbors;
+        private long neighborListTimeNs;
+        private Long optimalLength; // only for instances small enough for Held-Karp
+        private Map<String, HeuristicRunDTO> runs; // "TwoOpt" -> length and time
+
+        public int getCities() { return cities; }
+        public void setCities(int cities) { this.cities = cities; }
+        public long getSeed() { return seed; }
+        public void setSeed(long seed) { this.seed = seed; }
+        public int getNeighbors() { return neighbors; }
+        public void setNeighbors(int neighbors) { this.neighbors = neighbors; }
+        public long getNeighborListTimeNs() { return neighborListTimeNs; }
+        public void setNeighborListTimeNs(long neighborListTimeNs) { this.neighborListTimeNs = neighborListTimeNs; }
+        public Long getOptimalLength() { return optimalLength; }
+        public void setOptimalLength(Long optimalLength) { this.optimalLength = optimalLength; }
+        public Map<String, HeuristicRunDTO> getRuns() { return runs; }
+        public void setRuns(Map<String, HeuristicRunDTO> runs) { this.runs = runs; }
     }
 }
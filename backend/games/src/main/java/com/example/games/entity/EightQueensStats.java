@@ -12,6 +12,8 @@ public class EightQueensStats {
 
     private Long sequentialTimeNs;
     private Long threadedTimeNs;
+    private Long bitmaskTimeNs;
+    private Long symmetricTimeNs;
     
     private LocalDateTime runAt = LocalDateTime.now();
     
@@ -21,6 +23,10 @@ public class EightQueensStats {
     public void setSequentialTimeNs(Long sequentialTimeNs) { this.sequentialTimeNs = sequentialTimeNs; }
     public Long getThreadedTimeNs() { return threadedTimeNs; }
     public void setThreadedTimeNs(Long threadedTimeNs) { this.threadedTimeNs = threadedTimeNs; }
+    public Long getBitmaskTimeNs() { return bitmaskTimeNs; }
+    public void setBitmaskTimeNs(Long bitmaskTimeNs) { this.bitmaskTimeNs = bitmaskTimeNs; }
+    public Long getSymmetricTimeNs() { return symmetricTimeNs; }
+    public void setSymmetricTimeNs(Long symmetricTimeNs) { this.symmetricTimeNs = symmetricTimeNs; }
     public LocalDateTime getRunAt() { return runAt; }
     public void setRunAt(LocalDateTime runAt) { this.runAt = runAt; }
 }
@@ -28,6 +28,8 @@ public class HanoiGameResult {
     // Algorithm timings
     private Long algo1Time; // Recursive (3) or Frame-Stewart (4)
     private Long algo2Time; // Iterative (3) or BFS (4)
+    private Long algo3Time; // Bidirectional BFS (4 only)
+    private Long algo4Time; // Parallel BFS (4 only)
 
     private LocalDateTime createdAt = LocalDateTime.now();
 
@@ -49,6 +51,10 @@ public class HanoiGameResult {
     public void setAlgo1Time(Long algo1Time) { this.algo1Time = algo1Time; }
     public Long getAlgo2Time() { return algo2Time; }
     public void setAlgo2Time(Long algo2Time) { this.algo2Time = algo2Time; }
+    public Long getAlgo3Time() { return algo3Time; }
+    public void setAlgo3Time(Long algo3Time) { this.algo3Time = algo3Time; }
+    public Long getAlgo4Time() { return algo4Time; }
+    public void setAlgo4Time(Long algo4Time) { this.algo4Time = algo4Time; }
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
 }
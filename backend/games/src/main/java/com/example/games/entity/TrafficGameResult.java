@@ -17,6 +17,8 @@ public class TrafficGameResult {
 
     private Long fordFulkersonTime; // microseconds
     private Long edmondsKarpTime;   // microseconds
+    private Long dinicTime;         // microseconds
+    private Long pushRelabelTime;   // microseconds
 
     private LocalDateTime createdAt = LocalDateTime.now();
 
@@ -32,6 +34,10 @@ public class TrafficGameResult {
     public void setFordFulkersonTime(Long fordFulkersonTime) { this.fordFulkersonTime = fordFulkersonTime; }
     public Long getEdmondsKarpTime() { return edmondsKarpTime; }
     public void setEdmondsKarpTime(Long edmondsKarpTime) { this.edmondsKarpTime = edmondsKarpTime; }
+    public Long getDinicTime() { return dinicTime; }
+    public void setDinicTime(Long dinicTime) { this.dinicTime = dinicTime; }
+    public Long getPushRelabelTime() { return pushRelabelTime; }
+    public void setPushRelabelTime(Long pushRelabelTime) { this.pushRelabelTime = pushRelabelTime; }
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
 }
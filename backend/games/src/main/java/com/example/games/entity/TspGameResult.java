@@ -28,6 +28,7 @@ public class TspGameResult {
     private Long bruteForceTimeNs;
     private Long nearestNeighborTimeNs;
     private Long dynamicProgrammingTimeNs;
+    private Long branchAndBoundTimeNs;
     
     private LocalDateTime createdAt = LocalDateTime.now();
 
@@ -51,6 +52,8 @@ public class TspGameResult {
     public void setNearestNeighborTimeNs(Long nearestNeighborTimeNs) { this.nearestNeighborTimeNs = nearestNeighborTimeNs; }
     public Long getDynamicProgrammingTimeNs() { return dynamicProgrammingTimeNs; }
     public void setDynamicProgrammingTimeNs(Long dynamicProgrammingTimeNs) { this.dynamicProgrammingTimeNs = dynamicProgrammingTimeNs; }
+    public Long getBranchAndBoundTimeNs() { return branchAndBoundTimeNs; }
+    public void setBranchAndBoundTimeNs(Long branchAndBoundTimeNs) { this.branchAndBoundTimeNs = branchAndBoundTimeNs; }
 
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
@@ -0,0 +1,85 @@
+package com.example.games.service;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Lock-free registry of discovered solutions for the shared board.
+ * The whole state (bitset, discoverer names, count, epoch) is an immutable
+ * snapshot swapped with a single CAS, so a claim either lands completely in
+ * the current epoch or retries. The claim that completes the set is the only
+ * winner; it moves the registry to the next epoch with an empty bitset.
+ * Copy-on-write is cheap here: 92 solutions fit in two longs.
+ */
+final class DiscoveryRegistry {
+
+    enum Outcome { NEW, DUPLICATE, COMPLETED }
+
+    // Result of a claim: what happened, and the state right after it
+    record Claim(Outcome outcome, int totalDiscovered, String discoveredBy, long epoch) {}
+
+    // Immutable state of one epoch
+    record Snapshot(long epoch, long[] words, String[] names, int count) {
+        boolean isSet(int idx) {
+            return (words[idx >>> 6] & (1L << idx)) != 0;
+        }
+    }
+
+    private final int size;
+    private final AtomicReference<Snapshot> state;
+
+    DiscoveryRegistry(int size) {
+        this.size = size;
+        this.state = new AtomicReference<>(empty(0));
+    }
+
+    Snapshot snapshot() {
+        return state.get();
+    }
+
+    int count() {
+        return state.get().count();
+    }
+
+    Claim claim(int idx, String playerName) {
+        while (true) {
+            Snapshot current = state.get();
+            if (current.isSet(idx)) {
+                return new Claim(Outcome.DUPLICATE, current.count(), current.names()[idx], current.epoch());
+            }
+
+            if (current.count() + 1 >= size) {
+                // Final solution: start the next epoch with an empty board
+                if (state.compareAndSet(current, empty(current.epoch() + 1))) {
+                    return new Claim(Outcome.COMPLETED, size, playerName, current.epoch());
+                }
+                continue;
+            }
+
+            long[] words = current.words().clone();
+            words[idx >>> 6] |= 1L << idx;
+            String[] names = current.names().clone();
+            names[idx] = playerName;
+            Snapshot next = new Snapshot(current.epoch(), words, names, current.count() + 1);
+            if (state.compareAndSet(current, next)) {
+                return new Claim(Outcome.NEW, next.count(), playerName, current.epoch());
+            }
+        }
+    }
+
+    // Marks previously persisted discoveries, used once at startup
+    void restore(int idx, String playerName) {
+        while (true) {
+            Snapshot current = state.get();
+            if (current.isSet(idx) || current.count() + 1 >= size) return;
+            long[] words = current.words().clone();
+            words[idx >>> 6] |= 1L << idx;
+            String[] names = current.names().clone();
+            names[idx] = playerName;
+            if (state.compareAndSet(current, new Snapshot(current.epoch(), words, names, current.count() + 1))) return;
+        }
+    }
+
+    private Snapshot empty(long epoch) {
+        return new Snapshot(epoch, new long[(size + 63) >>> 6], new String[size], 0);
+    }
+}
@@ -6,12 +6,18 @@ import com.example.games.entity.EightQueensStats;
 import com.example.games.repository.EightQueensSolutionRepository;
 import com.example.games.repository.EightQueensStatsRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.concurrent.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Service
 public class EightQueensService {
@@ -22,82 +28,250 @@ public class EightQueensService {
     @Autowired
     private EightQueensStatsRepository statsRepository;
 
-    // We can cache the total solutions count if we want, or query DB.
-    // 92 is the constant known solution count for 8-Queens.
-    private static final int TOTAL_SOLUTIONS = 92;
+    // Board size of the shared discovery game
+    public static final int BOARD_SIZE = 8;
+
+    // Largest board accepted by the N-Queens benchmark (N=18 has ~666M solutions)
+    public static final int MAX_BOARD_SIZE = 18;
+
+    // Largest board for the sequential and threaded solvers: the sequential one
+    // already takes seconds at N=14 and about 6.5x longer for each N above it
+    public static final int MAX_BACKTRACKING_SIZE = 14;
+
+    // How many rows the threaded solver splits into fork/join tasks
+    @Value("${games.eight-queens.split-depth:" + NQueensForkJoinSolver.DEFAULT_SPLIT_DEPTH + "}")
+    private int splitDepth = NQueensForkJoinSolver.DEFAULT_SPLIT_DEPTH;
+
+    // Solution count computed by the engine at startup (92 for 8-Queens)
+    private final int totalSolutions = (int) NQueensBitboard.solve(BOARD_SIZE, null);
+
+    // Fundamental solutions (one per symmetry class, 12 for 8-Queens), sorted for lookup
+    private final long[] fundamentalSolutions = NQueensSymmetry.fundamentals(BOARD_SIZE);
+
+    // All valid boards packed 4 bits per row, sorted: index in this array identifies a solution
+    private final long[] validSolutions = sortedSolutions(BOARD_SIZE);
+
+    // Fundamental class of each valid solution (same index as validSolutions)
+    private final int[] solutionClass = classifySolutions(validSolutions, fundamentalSolutions);
+
+    // --- Discovered solutions ---
+    // The lock-free registry is the source of truth for uniqueness, counts and resets.
+    // The DB is reconciled to it in the background (see reconcileDiscoveries).
+
+    private final DiscoveryRegistry registry = new DiscoveryRegistry(totalSolutions);
+
+    // What the DB currently holds: the registry epoch and the discovered bits written so far
+    private long persistedEpoch;
+    private long[] persistedWords = registry.snapshot().words();
+
+    // --- Background benchmarking ---
+    // Solver timings are sampled off the request path: on a fixed schedule and
+    // after every N valid submissions. Samples are buffered and saved in batches.
+
+    @Value("${games.eight-queens.benchmark-every-submissions:25}")
+    private int benchmarkEverySubmissions = 25;
+
+    // How long a stats request with nothing sampled yet waits for the first sample
+    @Value("${games.eight-queens.stats-wait-ms:5000}")
+    private long statsWaitMs = 5000;
+
+    private final AtomicInteger submissionsSinceSample = new AtomicInteger();
+    // The sample being taken right now, if any; completes with its timings
+    private final AtomicReference<CompletableFuture<EightQueensStats>> sampleInFlight = new AtomicReference<>();
+    private final Queue<EightQueensStats> pendingStats = new ConcurrentLinkedQueue<>();
+    private volatile EightQueensStats latestStats;
+
+    private final ExecutorService benchmarkExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "eight-queens-benchmark");
+        t.setDaemon(true);
+        return t;
+    });
+
+    // Restore the registry from solutions persisted by earlier runs
+    @PostConstruct
+    public void loadDiscoveredSolutions() {
+        for (EightQueensSolution sol : solutionRepository.findAll()) {
+            int idx = solutionIndex(sol.getSolutionString());
+            if (idx >= 0) registry.restore(idx, sol.getDiscoveredBy());
+        }
+        synchronized (this) {
+            DiscoveryRegistry.Snapshot snapshot = registry.snapshot();
+            persistedEpoch = snapshot.epoch();
+            persistedWords = snapshot.words();
+        }
+    }
 
     public StatsResponse getStats() {
-        // Find latest stats or run solvers if not present
-        List<EightQueensStats> statsList = statsRepository.findAll();
-        EightQueensStats stats;
-        
-        if (statsList.isEmpty()) {
-            stats = runSolversAndSaveStats();
-        } else {
-            // Get most recent
-            stats = statsList.get(statsList.size() - 1);
+        // Latest sample in memory, then latest in DB, then wait for a background sample
+        EightQueensStats stats = latestStats;
+        if (stats == null) {
+            stats = statsRepository.findTopByOrderByRunAtDesc();
+        }
+        if (stats == null) {
+            stats = awaitSample();
         }
 
-        long count = solutionRepository.count();
+        int count = registry.count();
 
+        // Timings stay 0 while the first sample is still pending
         StatsResponse response = new StatsResponse();
-        response.setSequentialTimeNs(stats.getSequentialTimeNs());
-        response.setThreadedTimeNs(stats.getThreadedTimeNs());
-        response.setTotalSolutionsFound(TOTAL_SOLUTIONS);
-        response.setTotalDiscoveredByPlayers((int) count);
+        if (stats != null) {
+            response.setSequentialTimeNs(stats.getSequentialTimeNs());
+            response.setThreadedTimeNs(stats.getThreadedTimeNs());
+            response.setBitmaskTimeNs(stats.getBitmaskTimeNs() != null ? stats.getBitmaskTimeNs() : 0);
+            response.setSymmetricTimeNs(stats.getSymmetricTimeNs() != null ? stats.getSymmetricTimeNs() : 0);
+        }
+        response.setTotalSolutionsFound(totalSolutions);
+        response.setTotalDiscoveredByPlayers(count);
         return response;
     }
 
     public SubmitResponse submitSolution(SubmitRequest request) {
         List<Integer> queens = request.getQueens();
         
-        // 1. Validate Board
-        if (!isValidPlacement(queens)) {
+        // 1. Validate Board: a lookup in the precomputed solution set
+        int idx = solutionIndex(queens);
+        if (idx < 0) {
             SubmitResponse res = new SubmitResponse();
             res.setValid(false);
             res.setMessage("Invalid Configuration: Queens are threatening each other.");
             return res;
         }
 
-        // 2. Canonical String
-        String solutionStr = toCanonicalString(queens);
-
-        // 3. Check uniqueness
-        Optional<EightQueensSolution> existing = solutionRepository.findBySolutionString(solutionStr);
-        
         SubmitResponse res = new SubmitResponse();
         res.setValid(true);
+        res.setFundamentalClass(solutionClass[idx] + 1);
+        res.setTotalFundamentalClasses(fundamentalSolutions.length);
 
-        // Run solvers and save stats for each valid submission (for comparison data)
-        runSolversAndSaveStats();
+        // Solver timings are sampled in the background (for comparison data)
+        recordSubmissionForBenchmark();
 
-        if (existing.isPresent()) {
-            res.setUnique(false);
-            res.setMessage("Valid! But this solution was already discovered by " + existing.get().getDiscoveredBy());
-            res.setTotalDiscovered((int) solutionRepository.count());
-        } else {
-            // New Discovery
-            EightQueensSolution sol = new EightQueensSolution();
-            sol.setSolutionString(solutionStr);
-            sol.setDiscoveredBy(request.getPlayerName());
-            solutionRepository.save(sol);
-            
-            long total = solutionRepository.count();
-            res.setUnique(true);
-            res.setTotalDiscovered((int) total);
-            
-            if (total >= TOTAL_SOLUTIONS) {
+        // 2. Claim it in the registry: exactly one submitter can win each solution
+        DiscoveryRegistry.Claim claim = registry.claim(idx, request.getPlayerName());
+        res.setTotalDiscovered(claim.totalDiscovered());
+
+        switch (claim.outcome()) {
+            case DUPLICATE -> {
+                res.setUnique(false);
+                res.setMessage("Valid! But this solution was already discovered by " + claim.discoveredBy());
+            }
+            case COMPLETED -> {
+                res.setUnique(true);
                 res.setMessage("CONGRATULATIONS! You found the final solution! The game will now reset.");
-                // Reset logic
-                solutionRepository.deleteAll();
-            } else {
+            }
+            default -> {
+                res.setUnique(true);
                 res.setMessage("Valid! New Solution Discovered!");
             }
         }
         return res;
     }
 
-    private EightQueensStats runSolversAndSaveStats() {
+    // Brings the DB in line with the registry: a new epoch means the board was
+    // reset, so old rows are deleted; then any discoveries not yet written are saved.
+    @Scheduled(fixedDelayString = "${games.eight-queens.discovery-flush-interval-ms:2000}")
+    public synchronized void reconcileDiscoveries() {
+        DiscoveryRegistry.Snapshot snapshot = registry.snapshot();
+
+        if (snapshot.epoch() != persistedEpoch) {
+            solutionRepository.deleteAllInBatch();
+            persistedEpoch = snapshot.epoch();
+            persistedWords = new long[snapshot.words().length];
+        }
+
+        List<EightQueensSolution> batch = new ArrayList<>();
+        long[] words = snapshot.words();
+        for (int w = 0; w < words.length; w++) {
+            long added = words[w] & ~persistedWords[w];
+            while (added != 0) {
+                int idx = (w << 6) + Long.numberOfTrailingZeros(added);
+                added &= added - 1;
+                EightQueensSolution sol = new EightQueensSolution();
+                sol.setSolutionString(toCanonicalString(NQueensBitboard.unpack(validSolutions[idx], BOARD_SIZE)));
+                sol.setDiscoveredBy(snapshot.names()[idx]);
+                batch.add(sol);
+            }
+        }
+        if (!batch.isEmpty()) {
+            solutionRepository.saveAll(batch);
+        }
+        persistedWords = words;
+    }
+
+    // Every benchmarkEverySubmissions valid submissions, queue one background sample
+    private void recordSubmissionForBenchmark() {
+        if (submissionsSinceSample.incrementAndGet() >= benchmarkEverySubmissions) {
+            submissionsSinceSample.set(0);
+            benchmarkExecutor.execute(this::sampleSolverTimings);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${games.eight-queens.benchmark-interval-ms:60000}",
+            initialDelayString = "${games.eight-queens.benchmark-interval-ms:60000}")
+    public void sampleSolverTimings() {
+        // A sample already running (scheduled or submission-triggered) covers this one
+        CompletableFuture<EightQueensStats> sample = new CompletableFuture<>();
+        if (sampleInFlight.compareAndSet(null, sample)) runSample(sample);
+    }
+
+    // Joins the sample in flight, or starts one on the benchmark thread, and waits
+    // up to statsWaitMs for it; null if it is not done by then. The solvers never
+    // run on the request thread.
+    private EightQueensStats awaitSample() {
+        CompletableFuture<EightQueensStats> sample = new CompletableFuture<>();
+        CompletableFuture<EightQueensStats> running = sampleInFlight.compareAndExchange(null, sample);
+        if (running != null) {
+            sample = running;
+        } else {
+            CompletableFuture<EightQueensStats> started = sample;
+            benchmarkExecutor.execute(() -> runSample(started));
+        }
+        try {
+            return sample.get(statsWaitMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private void runSample(CompletableFuture<EightQueensStats> sample) {
+        EightQueensStats stats;
+        try {
+            stats = runSolvers();
+        } catch (RuntimeException e) {
+            sampleInFlight.set(null);
+            sample.completeExceptionally(e);
+            throw e;
+        }
+        latestStats = stats;
+        pendingStats.add(stats);
+        // Cleared before completing, so whoever the sample wakes can start the next one
+        sampleInFlight.set(null);
+        sample.complete(stats);
+    }
+
+    @Scheduled(fixedDelayString = "${games.eight-queens.stats-flush-interval-ms:10000}")
+    public void flushPendingStats() {
+        List<EightQueensStats> batch = new ArrayList<>();
+        EightQueensStats stats;
+        while ((stats = pendingStats.poll()) != null) {
+            batch.add(stats);
+        }
+        if (!batch.isEmpty()) {
+            statsRepository.saveAll(batch);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        benchmarkExecutor.shutdown();
+        flushPendingStats();
+        reconcileDiscoveries();
+    }
+
+    private EightQueensStats runSolvers() {
         // 1. Sequential
         long startSeq = System.nanoTime();
         List<List<Integer>> seqSolutions = solveSequential();
@@ -108,93 +282,132 @@ public class EightQueensService {
         List<List<Integer>> threadSolutions = solveThreaded();
         long endThread = System.nanoTime();
 
+        // 3. Bitmask
+        long startBitmask = System.nanoTime();
+        long[] bitmaskSolutions = solveBitmask();
+        long endBitmask = System.nanoTime();
+
+        // 4. Symmetry-reduced
+        long startSymmetric = System.nanoTime();
+        long[] symmetricSolutions = solveSymmetric();
+        long endSymmetric = System.nanoTime();
+
         EightQueensStats stats = new EightQueensStats();
         stats.setSequentialTimeNs(endSeq - startSeq);
         stats.setThreadedTimeNs(endThread - startThread);
+        stats.setBitmaskTimeNs(endBitmask - startBitmask);
+        stats.setSymmetricTimeNs(endSymmetric - startSymmetric);
         stats.setRunAt(LocalDateTime.now());
         
-        return statsRepository.save(stats);
+        return stats;
     }
     
     // --- Solvers ---
 
     // Sequential Backtracking
     public List<List<Integer>> solveSequential() {
+        return solveSequential(BOARD_SIZE);
+    }
+
+    public List<List<Integer>> solveSequential(int n) {
+        checkBacktrackingSize(n);
         List<List<Integer>> solutions = new ArrayList<>();
-        placeQueen(0, new int[8], solutions);
+        placeQueen(0, new int[n], solutions);
         return solutions;
     }
 
-    private void placeQueen(int row, int[] queens, List<List<Integer>> solutions) {
-        if (row == 8) {
-            List<Integer> sol = new ArrayList<>();
-            for (int q : queens) sol.add(q);
-            solutions.add(sol);
-            return;
+    // Count-only variant, used for large N where the solutions can't be kept in memory
+    public long countSequential(int n) {
+        checkBacktrackingSize(n);
+        return placeQueen(0, new int[n], null);
+    }
+
+    private long placeQueen(int row, int[] queens, List<List<Integer>> solutions) {
+        int n = queens.length;
+        if (row == n) {
+            if (solutions != null) {
+                List<Integer> sol = new ArrayList<>();
+                for (int q : queens) sol.add(q);
+                solutions.add(sol);
+            }
+            return 1;
         }
 
-        for (int col = 0; col < 8; col++) {
+        long count = 0;
+        for (int col = 0; col < n; col++) {
             if (isSafe(row, col, queens)) {
                 queens[row] = col;
-                placeQueen(row + 1, queens, solutions);
+                count += placeQueen(row + 1, queens, solutions);
             }
         }
+        return count;
     }
 
     // Threaded Backtracking
-    // Divide the work based on the first queen's placement (Row 0 has 8 possible columns)
+    // Fork/join over the bitboard search (see NQueensForkJoinSolver): the first
+    // splitDepth rows fan out into subtree tasks on the shared common pool,
+    // so idle workers steal the remaining subtrees instead of waiting on edge columns.
     public List<List<Integer>> solveThreaded() {
-        ExecutorService executor = Executors.newFixedThreadPool(8);
-        List<Future<List<List<Integer>>>> futures = new ArrayList<>();
-
-        for (int i = 0; i < 8; i++) {
-            final int firstCol = i;
-            futures.add(executor.submit(() -> {
-                List<List<Integer>> partialSolutions = new ArrayList<>();
-                int[] queens = new int[8];
-                queens[0] = firstCol;
-                placeQueenThreaded(1, queens, partialSolutions);
-                return partialSolutions;
-            }));
-        }
+        return solveThreaded(BOARD_SIZE);
+    }
 
-        List<List<Integer>> allSolutions = new ArrayList<>();
-        for (Future<List<List<Integer>>> f : futures) {
-            try {
-                allSolutions.addAll(f.get());
-            } catch (Exception e) {
-                e.printStackTrace();
-            }
+    public List<List<Integer>> solveThreaded(int n) {
+        checkBacktrackingSize(n);
+        long[] packed = NQueensForkJoinSolver.solve(n, splitDepth, ForkJoinPool.commonPool());
+        List<List<Integer>> allSolutions = new ArrayList<>(packed.length);
+        for (long p : packed) {
+            List<Integer> sol = new ArrayList<>(n);
+            for (int c : NQueensBitboard.unpack(p, n)) sol.add(c);
+            allSolutions.add(sol);
         }
-        executor.shutdown();
         return allSolutions;
     }
 
-    private void placeQueenThreaded(int row, int[] queens, List<List<Integer>> solutions) {
-        if (row == 8) {
-            // Need thread-safe collection? or just return local list?
-            // Since we collect into local partialSolutions, it is fine.
-            List<Integer> sol = new ArrayList<>();
-            for (int q : queens) sol.add(q);
-            solutions.add(sol);
-            return;
+    public long countThreaded(int n) {
+        checkBacktrackingSize(n);
+        return NQueensForkJoinSolver.count(n, splitDepth, ForkJoinPool.commonPool());
+    }
+
+    // Bitmask Backtracking
+    // Column/diagonal occupancy masks, solutions packed 4 bits per row (see NQueensBitboard)
+    public long[] solveBitmask() {
+        return solveBitmask(BOARD_SIZE);
+    }
+
+    public long[] solveBitmask(int n) {
+        NQueensBitboard.PackedSink sink = new NQueensBitboard.PackedSink();
+        NQueensBitboard.solve(n, sink);
+        return sink.toArray();
+    }
+
+    public long countBitmask(int n) {
+        return NQueensBitboard.solve(n, null);
+    }
+
+    // Symmetry-reduced Backtracking
+    // Searches only the fundamental solutions (see NQueensSymmetry) and expands
+    // each one through the board's rotations and reflections.
+    public long[] solveSymmetric() {
+        return solveSymmetric(BOARD_SIZE);
+    }
+
+    public long[] solveSymmetric(int n) {
+        return NQueensSymmetry.expand(NQueensSymmetry.fundamentals(n), n);
+    }
+
+    public long countSymmetric(int n) {
+        return NQueensSymmetry.countByClasses(n);
+    }
+
+    private static void checkBoardSize(int n) {
+        if (n < 1 || n > MAX_BOARD_SIZE) {
+            throw new IllegalArgumentException("Board size must be between 1 and " + MAX_BOARD_SIZE);
         }
-        
-        // We need a separate board array for each recursion path in threaded context?
-        // Actually backtracking uses the same array usually. 
-        // But since each task has its own 'queens' array passed from root, 
-        // and recursive calls modify it.
-        // Wait, standard backtracking modifies array and then restores it (backtracks).
-        // Since we are single-threaded WITHIN the task, passing the array is fine.
-        
-        for (int col = 0; col < 8; col++) {
-            if (isSafe(row, col, queens)) {
-                queens[row] = col;
-                placeQueenThreaded(row + 1, queens, solutions);
-                // No un-set needed for array logic if we overwrite?
-                // Actually need to ensure next iteration doesn't see old value if logic depends on it.
-                // Our isSafe only checks columns < row. So valid.
-            }
+    }
+
+    private static void checkBacktrackingSize(int n) {
+        if (n < 1 || n > MAX_BACKTRACKING_SIZE) {
+            throw new IllegalArgumentException("Sequential and threaded solvers take board sizes 1 to " + MAX_BACKTRACKING_SIZE);
         }
     }
 
@@ -212,40 +425,97 @@ public class EightQueensService {
     
     // Input: List<Integer> of size 8. Index = Row, Value = Col.
     // Example: [0, 4, 7, 5, 2, 6, 1, 3]
-    private boolean isValidPlacement(List<Integer> queens) {
-        if (queens == null || queens.size() != 8) return false;
-        
-        // Convert to array for helper
-        int[] qArr = queens.stream().mapToInt(i -> i).toArray();
-        
-        // Check constraints:
-        // 1. Bounds 0-7
-        // 2. No two queens attack
-        
-        for (int r = 0; r < 8; r++) {
-            if (qArr[r] < 0 || qArr[r] > 7) return false;
-            // Check against previous rows? No, need to check against ALL other rows for user input validation.
-            // Actually, internal solver generates row-by-row.
-            // User input is full board.
-            // Check every pair.
-            
-            for (int r2 = r + 1; r2 < 8; r2++) {
-                int c1 = qArr[r];
-                int c2 = qArr[r2];
-                
-                if (c1 == c2) return false; // Same column
-                if (Math.abs(r - r2) == Math.abs(c1 - c2)) return false; // Diagonal
-            }
+    // Index of the board in validSolutions, or -1 if it is not a valid solution
+    private int solutionIndex(List<Integer> queens) {
+        if (queens == null || queens.size() != BOARD_SIZE) return -1;
+        long packed = 0;
+        for (int r = 0; r < BOARD_SIZE; r++) {
+            Integer c = queens.get(r);
+            if (c == null || c < 0 || c >= BOARD_SIZE) return -1;
+            packed |= ((long) c) << (4 * r);
         }
-        return true;
+        int idx = Arrays.binarySearch(validSolutions, packed);
+        return idx >= 0 ? idx : -1;
+    }
+
+    // Same lookup for a stored solution string such as "04752613"
+    private int solutionIndex(String solutionStr) {
+        if (solutionStr == null || solutionStr.length() != BOARD_SIZE) return -1;
+        List<Integer> queens = new ArrayList<>(BOARD_SIZE);
+        for (int r = 0; r < BOARD_SIZE; r++) {
+            queens.add(Character.digit(solutionStr.charAt(r), 10));
+        }
+        return solutionIndex(queens);
+    }
+
+    private static long[] sortedSolutions(int n) {
+        NQueensBitboard.PackedSink sink = new NQueensBitboard.PackedSink();
+        NQueensBitboard.solve(n, sink);
+        long[] solutions = sink.toArray();
+        Arrays.sort(solutions);
+        return solutions;
+    }
+
+    private static int[] classifySolutions(long[] solutions, long[] fundamentals) {
+        int[] classes = new int[solutions.length];
+        for (int i = 0; i < solutions.length; i++) {
+            classes[i] = NQueensSymmetry.classIndex(NQueensBitboard.unpack(solutions[i], BOARD_SIZE), fundamentals);
+        }
+        return classes;
     }
 
-    private String toCanonicalString(List<Integer> queens) {
+    private String toCanonicalString(int[] queens) {
         StringBuilder sb = new StringBuilder();
         for (int c : queens) sb.append(c);
         return sb.toString();
     }
     
+    // N-Queens benchmark: counts only, so large boards don't materialize their solutions.
+    // Above MAX_BACKTRACKING_SIZE only the bitmask and symmetry solvers run.
+    // Runs the benchmark on the benchmark thread instead of the caller's: large
+    // boards take minutes (about 6x per N above 15). Benchmarks and background
+    // samples run one at a time there, so they don't skew each other's timings.
+    public CompletableFuture<NQueensBenchmarkResponse> runBenchmarkAsync(int n) {
+        checkBoardSize(n);
+        return CompletableFuture.supplyAsync(() -> runBenchmark(n), benchmarkExecutor);
+    }
+
+    public NQueensBenchmarkResponse runBenchmark(int n) {
+        checkBoardSize(n);
+
+        Map<String, Long> times = new LinkedHashMap<>();
+
+        long startBitmask = System.nanoTime();
+        long bitmaskCount = countBitmask(n);
+        long bitmaskTime = System.nanoTime() - startBitmask;
+        boolean agree = true;
+
+        if (n <= MAX_BACKTRACKING_SIZE) {
+            long startSeq = System.nanoTime();
+            agree &= countSequential(n) == bitmaskCount;
+            times.put("Sequential", System.nanoTime() - startSeq);
+
+            long startThread = System.nanoTime();
+            agree &= countThreaded(n) == bitmaskCount;
+            times.put("Threaded", System.nanoTime() - startThread);
+        }
+        times.put("Bitmask", bitmaskTime);
+
+        long startSymmetric = System.nanoTime();
+        agree &= countSymmetric(n) == bitmaskCount;
+        times.put("Symmetry", System.nanoTime() - startSymmetric);
+
+        if (!agree) {
+            throw new IllegalStateException("Solvers disagree on the solution count for N=" + n);
+        }
+
+        NQueensBenchmarkResponse response = new NQueensBenchmarkResponse();
+        response.setBoardSize(n);
+        response.setSolutionCount(bitmaskCount);
+        response.setAlgorithmTimes(times);
+        return response;
+    }
+
     public Map<String, Object> getComparisonData() {
         List<EightQueensStats> statsList = statsRepository.findTop15ByOrderByRunAtDesc();
         
@@ -254,6 +524,10 @@ public class EightQueensService {
         
         long seqSum = 0;
         long threadSum = 0;
+        long bitmaskSum = 0;
+        int bitmaskCount = 0;
+        long symmetricSum = 0;
+        int symmetricCount = 0;
         int count = statsList.size();
         
         for (EightQueensStats stats : statsList) {
@@ -264,6 +538,17 @@ public class EightQueensService {
             Map<String, Long> algorithmTimes = new HashMap<>();
             algorithmTimes.put("Sequential", stats.getSequentialTimeNs());
             algorithmTimes.put("Threaded", stats.getThreadedTimeNs());
+            // Older rows were recorded before the bitmask solver existed
+            if (stats.getBitmaskTimeNs() != null) {
+                algorithmTimes.put("Bitmask", stats.getBitmaskTimeNs());
+                bitmaskSum += stats.getBitmaskTimeNs();
+                bitmaskCount++;
+            }
+            if (stats.getSymmetricTimeNs() != null) {
+                algorithmTimes.put("Symmetry", stats.getSymmetricTimeNs());
+                symmetricSum += stats.getSymmetricTimeNs();
+                symmetricCount++;
+            }
             gameData.put("algorithmTimes", algorithmTimes);
             
             gamesList.add(gameData);
@@ -276,6 +561,12 @@ public class EightQueensService {
             averages.put("Sequential", seqSum / count);
             averages.put("Threaded", threadSum / count);
         }
+        if (bitmaskCount > 0) {
+            averages.put("Bitmask", bitmaskSum / bitmaskCount);
+        }
+        if (symmetricCount > 0) {
+            averages.put("Symmetry", symmetricSum / symmetricCount);
+        }
         
         result.put("games", gamesList);
         result.put("averages", averages);
@@ -0,0 +1,184 @@
+package com.example.games.service;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Random Euclidean TSP instance for the large-scale benchmark.
+ * Cities are integer points in a SIZE x SIZE square; distances are rounded
+ * Euclidean (TSPLIB EUC_2D style) so tour lengths are exact ints and can be
+ * compared with Held-Karp. Distances are computed on demand rather than stored,
+ * and each city keeps a list of its K nearest neighbours, found through a
+ * uniform grid instead of an all-pairs scan.
+ */
+final class EuclideanTsp {
+
+    static final int MAX_CITIES = 50_000;
+    static final int SIZE = 10_000;
+
+    final int n;
+    final int[] x;
+    final int[] y;
+    final int[][] neighbors; // neighbors[i]: K nearest cities, closest first
+
+    private EuclideanTsp(int[] x, int[] y, int k) {
+        this.n = x.length;
+        this.x = x;
+        this.y = y;
+        this.neighbors = buildNeighbors(Math.min(k, n - 1));
+    }
+
+    static EuclideanTsp random(int n, int k, long seed) {
+        if (n < 3 || n > MAX_CITIES) throw new IllegalArgumentException("City count must be between 3 and " + MAX_CITIES);
+        if (k < 1) throw new IllegalArgumentException("Neighbour list size must be positive");
+        SplittableRandom rand = new SplittableRandom(seed);
+        int[] x = new int[n];
+        int[] y = new int[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = rand.nextInt(SIZE);
+            y[i] = rand.nextInt(SIZE);
+        }
+        return new EuclideanTsp(x, y, k);
+    }
+
+    int dist(int i, int j) {
+        long dx = x[i] - x[j];
+        long dy = y[i] - y[j];
+        return (int) Math.round(Math.sqrt(dx * dx + dy * dy));
+    }
+
+    // Full matrix, only for instances small enough for the exact solvers
+    int[][] matrix() {
+        int[][] d = new int[n][n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) d[i][j] = dist(i, j);
+        }
+        return d;
+    }
+
+    long tourLength(int[] tour) {
+        long length = 0;
+        for (int i = 0; i < n; i++) length += dist(tour[i], tour[(i + 1) % n]);
+        return length;
+    }
+
+    // Greedy nearest-neighbour tour from city 0. The next city is taken from the
+    // neighbour list when one is still unvisited, otherwise by a scan of the rest.
+    int[] nearestNeighborTour() {
+        int[] tour = new int[n];
+        boolean[] visited = new boolean[n];
+        // Unvisited cities, with swap-removal through where[]
+        int[] unvisited = new int[n];
+        int[] where = new int[n];
+        for (int i = 0; i < n; i++) {
+            unvisited[i] = i;
+            where[i] = i;
+        }
+        int remaining = n;
+
+        int current = 0;
+        for (int step = 0; step < n; step++) {
+            tour[step] = current;
+            visited[current] = true;
+            int slot = where[current];
+            int moved = unvisited[--remaining];
+            unvisited[slot] = moved;
+            where[moved] = slot;
+            if (remaining == 0) break;
+
+            int next = -1;
+            for (int c : neighbors[current]) {
+                if (!visited[c]) {
+                    next = c;
+                    break;
+                }
+            }
+            if (next < 0) {
+                int best = Integer.MAX_VALUE;
+                for (int i = 0; i < remaining; i++) {
+                    int d = dist(current, unvisited[i]);
+                    if (d < best) {
+                        best = d;
+                        next = unvisited[i];
+                    }
+                }
+            }
+            current = next;
+        }
+        return tour;
+    }
+
+    // --- Neighbour lists ---
+
+    private int[][] buildNeighbors(int k) {
+        // About two cities per cell
+        int cells = Math.max(1, (int) Math.sqrt(n / 2.0));
+        double cellSize = (double) SIZE / cells;
+        int[] cellStart = new int[cells * cells + 1];
+        int[] cellOf = new int[n];
+        for (int i = 0; i < n; i++) {
+            cellOf[i] = cell(x[i], cellSize, cells) * cells + cell(y[i], cellSize, cells);
+            cellStart[cellOf[i] + 1]++;
+        }
+        for (int c = 0; c < cells * cells; c++) cellStart[c + 1] += cellStart[c];
+        int[] fill = Arrays.copyOf(cellStart, cells * cells);
+        int[] cellItems = new int[n];
+        for (int i = 0; i < n; i++) cellItems[fill[cellOf[i]]++] = i;
+
+        int[][] result = new int[n][];
+        long[] bestDist = new long[k];
+        int[] best = new int[k];
+        for (int i = 0; i < n; i++) {
+            int found = 0;
+            int cx = cell(x[i], cellSize, cells);
+            int cy = cell(y[i], cellSize, cells);
+            for (int r = 0; r < cells; r++) {
+                // Scan the ring of cells at Chebyshev distance r
+                for (int gx = cx - r; gx <= cx + r; gx++) {
+                    if (gx < 0 || gx >= cells) continue;
+                    boolean edgeColumn = gx == cx - r || gx == cx + r;
+                    for (int gy = cy - r; gy <= cy + r; gy += edgeColumn ? 1 : 2 * r) {
+                        if (gy >= 0 && gy < cells) {
+                            int c = gx * cells + gy;
+                            for (int p = cellStart[c]; p < cellStart[c + 1]; p++) {
+                                int j = cellItems[p];
+                                if (j != i) found = offer(j, squaredDist(i, j), best, bestDist, found);
+                            }
+                        }
+                        if (r == 0) break;
+                    }
+                }
+                // Cities beyond this ring are at least r cells away
+                double reach = r * cellSize;
+                if (found == k && bestDist[k - 1] <= reach * reach) break;
+            }
+            result[i] = Arrays.copyOf(best, found);
+        }
+        return result;
+    }
+
+    // Insertion into the sorted k-best arrays; returns the new count
+    private static int offer(int j, long d, int[] best, long[] bestDist, int found) {
+        int k = best.length;
+        if (found == k && d >= bestDist[k - 1]) return found;
+        int p = found == k ? k - 1 : found++;
+        while (p > 0 && bestDist[p - 1] > d) {
+            best[p] = best[p - 1];
+            bestDist[p] = bestDist[p - 1];
+            p--;
+        }
+        best[p] = j;
+        bestDist[p] = d;
+        return found;
+    }
+
+    private long squaredDist(int i, int j) {
+        long dx = x[i] - x[j];
+        long dy = y[i] - y[j];
+        return dx * dx + dy * dy;
+    }
+
+    private static int cell(int coordinate, double cellSize, int cells) {
+        return Math.min(cells - 1, (int) (coordinate / cellSize));
+    }
+}
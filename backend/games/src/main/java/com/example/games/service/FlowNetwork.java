@@ -0,0 +1,104 @@
+package com.example.games.service;
+
+import com.example.games.dto.TrafficDTOs.EdgeDTO;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact residual graph shared by the max-flow algorithms.
+ * Node names are interned to 0..n-1 and arcs are stored in CSR form:
+ * the arcs leaving node u are head[u]..head[u+1]-1. Every input edge becomes
+ * a forward arc and a reverse arc (capacity 0), and rev[] links each arc to
+ * its pair, so pushing flow is two array updates.
+ */
+final class FlowNetwork {
+
+    final int nodeCount;
+    final String[] names;
+    final int[] head;     // CSR offsets, length nodeCount + 1
+    final int[] to;       // arc target
+    final int[] rev;      // paired reverse arc
+    final int[] cap;      // residual capacity
+    final int[] original; // capacity before any flow was pushed
+    final int[] edgeArc;  // forward arc of input edge i
+
+    private final Map<String, Integer> index;
+
+    private FlowNetwork(Map<String, Integer> index, String[] names, int[] head, int[] to, int[] rev, int[] cap, int[] edgeArc) {
+        this.index = index;
+        this.nodeCount = names.length;
+        this.names = names;
+        this.head = head;
+        this.to = to;
+        this.rev = rev;
+        this.cap = cap;
+        this.original = cap.clone();
+        this.edgeArc = edgeArc;
+    }
+
+    static FlowNetwork build(List<EdgeDTO> edges) {
+        // 1. Intern node names
+        Map<String, Integer> index = new HashMap<>();
+        int m = edges.size();
+        int[] from = new int[m];
+        int[] dest = new int[m];
+        for (int i = 0; i < m; i++) {
+            EdgeDTO e = edges.get(i);
+            from[i] = index.computeIfAbsent(e.getFrom(), k -> index.size());
+            dest[i] = index.computeIfAbsent(e.getTo(), k -> index.size());
+        }
+        int n = index.size();
+        String[] names = new String[n];
+        index.forEach((name, id) -> names[id] = name);
+
+        // 2. Count arcs per node (forward arc at 'from', reverse arc at 'to')
+        int[] head = new int[n + 1];
+        for (int i = 0; i < m; i++) {
+            head[from[i] + 1]++;
+            head[dest[i] + 1]++;
+        }
+        for (int u = 0; u < n; u++) head[u + 1] += head[u];
+
+        // 3. Place arcs
+        int[] next = Arrays.copyOf(head, n);
+        int[] to = new int[2 * m];
+        int[] rev = new int[2 * m];
+        int[] cap = new int[2 * m];
+        int[] edgeArc = new int[m];
+        for (int i = 0; i < m; i++) {
+            int fwd = next[from[i]]++;
+            int bwd = next[dest[i]]++;
+            to[fwd] = dest[i];
+            to[bwd] = from[i];
+            rev[fwd] = bwd;
+            rev[bwd] = fwd;
+            cap[fwd] = edges.get(i).getCapacity();
+            edgeArc[i] = fwd;
+        }
+        return new FlowNetwork(index, names, head, to, rev, cap, edgeArc);
+    }
+
+    // Node id of a name, or -1 if the name is not in the graph
+    int node(String name) {
+        Integer id = index.get(name);
+        return id != null ? id : -1;
+    }
+
+    int arcCount() {
+        return to.length;
+    }
+
+    // Restores all residual capacities so another algorithm can run on the same graph
+    void reset() {
+        System.arraycopy(original, 0, cap, 0, cap.length);
+    }
+
+    // Pushes flow along arc a (and takes it back from its pair)
+    void push(int a, int flow) {
+        cap[a] -= flow;
+        cap[rev[a]] += flow;
+    }
+}
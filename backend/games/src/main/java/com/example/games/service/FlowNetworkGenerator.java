@@ -0,0 +1,168 @@
+package com.example.games.service;
+
+import com.example.games.dto.TrafficDTOs.EdgeDTO;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Builds flow networks for the Traffic game.
+ * CLASSIC is the original fixed A..H -> T topology; the other families scale
+ * to large node/edge counts. Source is always "A" and sink "T"; generated
+ * interior nodes are named N1, N2, ... The same seed gives the same network.
+ * Networks have no parallel edges: a repeated (from, to) pair is skipped, so
+ * every edge can be named by its endpoints.
+ */
+final class FlowNetworkGenerator {
+
+    enum Family { CLASSIC, LAYERED, GRID, RANDOM_SPARSE, RANDOM_DENSE }
+
+    static final int MAX_NODES = 200_000;
+    static final int MAX_EDGES = 1_000_000;
+
+    // Capacity range 5-15
+    private static final int MIN_CAPACITY = 5;
+    private static final int CAPACITY_RANGE = 11;
+
+    private final SplittableRandom rand;
+
+    // Pairs already emitted, packed as (from id << 32 | to id)
+    private final Map<String, Integer> nodeIds = new HashMap<>();
+    private final Set<Long> pairs = new HashSet<>();
+
+    FlowNetworkGenerator(long seed) {
+        this.rand = new SplittableRandom(seed);
+    }
+
+    static Family parseFamily(String name) {
+        if (name == null || name.isBlank()) return Family.CLASSIC;
+        try {
+            return Family.valueOf(name.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown network type: " + name);
+        }
+    }
+
+    // nodes/edges are targets (0 = family default); CLASSIC ignores them
+    List<EdgeDTO> generate(Family family, int nodes, int edges) {
+        if (nodes < 0 || nodes > MAX_NODES) throw new IllegalArgumentException("Node count must be between 0 and " + MAX_NODES);
+        if (edges < 0 || edges > MAX_EDGES) throw new IllegalArgumentException("Edge count must be between 0 and " + MAX_EDGES);
+
+        switch (family) {
+            case LAYERED: return layered(nodes > 0 ? nodes : 100, edges);
+            case GRID: return grid(nodes > 0 ? nodes : 100);
+            case RANDOM_SPARSE: return randomGraph(nodes > 0 ? nodes : 100, edges > 0 ? edges : 4 * Math.max(nodes, 100));
+            case RANDOM_DENSE: return randomDense(nodes > 0 ? nodes : 50, edges);
+            default: return classic();
+        }
+    }
+
+    // Edge definitions as per requirements (Node -> Node)
+    private List<EdgeDTO> classic() {
+        List<EdgeDTO> edges = new ArrayList<>();
+        addEdge(edges, "A", "B");
+        addEdge(edges, "A", "C");
+        addEdge(edges, "A", "D");
+        addEdge(edges, "B", "E");
+        addEdge(edges, "B", "F");
+        addEdge(edges, "C", "E");
+        addEdge(edges, "C", "F");
+        addEdge(edges, "D", "F");
+        addEdge(edges, "E", "G");
+        addEdge(edges, "E", "H");
+        addEdge(edges, "F", "H");
+        addEdge(edges, "G", "T");
+        addEdge(edges, "H", "T");
+        return edges;
+    }
+
+    // Layers of interior nodes; each node links to a few random nodes of the next layer
+    private List<EdgeDTO> layered(int nodes, int edgeTarget) {
+        int width = Math.max(1, (int) Math.sqrt(nodes));
+        int layers = Math.max(1, nodes / width);
+        int interior = width * layers;
+        int perNode = edgeTarget > 0 ? Math.max(1, edgeTarget / interior) : 3;
+        perNode = Math.min(perNode, width);
+
+        List<EdgeDTO> edges = new ArrayList<>();
+        for (int i = 0; i < width; i++) addEdge(edges, "A", interiorName(i));
+        for (int l = 0; l + 1 < layers; l++) {
+            for (int i = 0; i < width; i++) {
+                String u = interiorName(l * width + i);
+                for (int k = 0; k < perNode; k++) {
+                    addEdge(edges, u, interiorName((l + 1) * width + rand.nextInt(width)));
+                }
+            }
+        }
+        for (int i = 0; i < width; i++) addEdge(edges, interiorName((layers - 1) * width + i), "T");
+        return edges;
+    }
+
+    // rows x cols grid with right, down and up edges; source feeds column 0, last column drains to sink
+    private List<EdgeDTO> grid(int nodes) {
+        int rows = Math.max(1, (int) Math.sqrt(nodes));
+        int cols = Math.max(1, nodes / rows);
+
+        List<EdgeDTO> edges = new ArrayList<>();
+        for (int r = 0; r < rows; r++) {
+            addEdge(edges, "A", interiorName(r * cols));
+            addEdge(edges, interiorName(r * cols + cols - 1), "T");
+            for (int c = 0; c < cols; c++) {
+                String u = interiorName(r * cols + c);
+                if (c + 1 < cols) addEdge(edges, u, interiorName(r * cols + c + 1));
+                if (r + 1 < rows) {
+                    addEdge(edges, u, interiorName((r + 1) * cols + c));
+                    addEdge(edges, interiorName((r + 1) * cols + c), u);
+                }
+            }
+        }
+        return edges;
+    }
+
+    // Uniformly random directed edges, plus source/sink links so the sink is reachable
+    private List<EdgeDTO> randomGraph(int nodes, int edgeTarget) {
+        if (nodes < 2) throw new IllegalArgumentException("Random networks need at least 2 nodes");
+        List<EdgeDTO> edges = new ArrayList<>();
+        int terminals = Math.max(1, (int) Math.sqrt(nodes));
+        for (int i = 0; i < terminals; i++) {
+            addEdge(edges, "A", interiorName(rand.nextInt(nodes)));
+            addEdge(edges, interiorName(rand.nextInt(nodes)), "T");
+        }
+        // No more edges than there are distinct interior pairs
+        edgeTarget = (int) Math.min(edgeTarget, edges.size() + (long) nodes * (nodes - 1));
+        while (edges.size() < edgeTarget) {
+            int u = rand.nextInt(nodes);
+            int v = rand.nextInt(nodes);
+            if (u != v) addEdge(edges, interiorName(u), interiorName(v));
+        }
+        return edges;
+    }
+
+    // Dense: by default about half of all ordered node pairs are edges
+    private List<EdgeDTO> randomDense(int nodes, int edgeTarget) {
+        long pairs = (long) nodes * (nodes - 1);
+        int target = edgeTarget > 0 ? edgeTarget : (int) Math.min(MAX_EDGES, pairs / 2);
+        return randomGraph(nodes, target);
+    }
+
+    private void addEdge(List<EdgeDTO> edges, String u, String v) {
+        if (edges.size() >= MAX_EDGES) return;
+        long pair = (long) nodeId(u) << 32 | nodeId(v);
+        if (!pairs.add(pair)) return;
+        edges.add(new EdgeDTO(u, v, MIN_CAPACITY + rand.nextInt(CAPACITY_RANGE)));
+    }
+
+    private int nodeId(String name) {
+        return nodeIds.computeIfAbsent(name, k -> nodeIds.size());
+    }
+
+    private static String interiorName(int i) {
+        return "N" + (i + 1);
+    }
+}
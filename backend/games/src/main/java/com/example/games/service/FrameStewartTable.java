@@ -0,0 +1,56 @@
+package com.example.games.service;
+
+/**
+ * Frame-Stewart move counts for every n <= MAX_DISKS and 3 <= k <= MAX_PEGS.
+ * T(n, k) = min over 1 <= m < n of 2 T(m, k) + T(n - m, k - 1): park the top m
+ * disks on a spare peg using all k pegs, move the other n - m with the k - 1
+ * pegs left, then bring the m disks back on top. The table is filled bottom-up
+ * once; split(n, k) keeps the best m so the move sequence can be replayed.
+ */
+final class FrameStewartTable {
+
+    static final int MAX_DISKS = 30; // T(30, 3) = 2^30 - 1 still fits an int
+    static final int MAX_PEGS = 10;
+
+    private final int[][] moves = new int[MAX_PEGS + 1][MAX_DISKS + 1];
+    private final int[][] split = new int[MAX_PEGS + 1][MAX_DISKS + 1];
+
+    FrameStewartTable() {
+        for (int n = 1; n <= MAX_DISKS; n++) {
+            moves[3][n] = (1 << n) - 1;
+            split[3][n] = n - 1;
+        }
+        for (int k = 4; k <= MAX_PEGS; k++) {
+            for (int n = 1; n <= MAX_DISKS; n++) {
+                long best = Long.MAX_VALUE;
+                int bestSplit = 0;
+                for (int m = 1; m < n; m++) {
+                    long candidate = 2L * moves[k][m] + moves[k - 1][n - m];
+                    if (candidate < best) {
+                        best = candidate;
+                        bestSplit = m;
+                    }
+                }
+                // A single disk needs no split
+                moves[k][n] = n == 1 ? 1 : (int) best;
+                split[k][n] = bestSplit;
+            }
+        }
+    }
+
+    int moves(int n, int k) {
+        check(n, k);
+        return moves[k][n];
+    }
+
+    // Number of top disks parked on a spare peg in an optimal k-peg transfer of n disks
+    int split(int n, int k) {
+        check(n, k);
+        return split[k][n];
+    }
+
+    private static void check(int n, int k) {
+        if (k < 3 || k > MAX_PEGS) throw new IllegalArgumentException("Number of pegs must be between 3 and " + MAX_PEGS);
+        if (n < 0 || n > MAX_DISKS) throw new IllegalArgumentException("Number of disks must be between 0 and " + MAX_DISKS);
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.games.service;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * Lazy generators for an optimal move sequence, from peg 0 to the last peg.
+ * Moves are ints (see encode) produced one at a time, so a sequence of 2^n - 1
+ * moves is never held in memory and iterating allocates nothing.
+ */
+final class HanoiMoves {
+
+    // Move counter is a long, and disks must fit the 8-bit field of a move
+    static final int MAX_DISKS_3_PEGS = 62;
+
+    private HanoiMoves() {}
+
+    static PrimitiveIterator.OfInt optimal(int n, int pegs, FrameStewartTable table) {
+        if (pegs == 3) return new BinaryCounter(n);
+        return new FrameStewartMoves(n, pegs, table);
+    }
+
+    // A move is disk << 8 | from << 4 | to; disk 0 is the smallest
+    static int encode(int disk, int from, int to) {
+        return disk << 8 | from << 4 | to;
+    }
+
+    static int disk(int move) {
+        return move >>> 8;
+    }
+
+    static int from(int move) {
+        return (move >>> 4) & 0xF;
+    }
+
+    static int to(int move) {
+        return move & 0xF;
+    }
+
+    // 3 pegs: move i (1-based) moves disk ntz(i) from peg (i & (i-1)) % 3 to
+    // ((i | (i-1)) + 1) % 3. That carries the tower to peg 2 for odd n and to
+    // peg 1 for even n, so even n swaps the labels of pegs 1 and 2.
+    private static final class BinaryCounter implements PrimitiveIterator.OfInt {
+        private final long total;
+        private final boolean swap;
+        private long i = 1;
+
+        BinaryCounter(int n) {
+            if (n < 0 || n > MAX_DISKS_3_PEGS) throw new IllegalArgumentException("Number of disks must be between 0 and " + MAX_DISKS_3_PEGS);
+            this.total = (1L << n) - 1;
+            this.swap = n % 2 == 0;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return i <= total;
+        }
+
+        @Override
+        public int nextInt() {
+            if (i > total) throw new NoSuchElementException();
+            int disk = Long.numberOfTrailingZeros(i);
+            int from = (int) ((i & (i - 1)) % 3);
+            int to = (int) (((i | (i - 1)) + 1) % 3);
+            i++;
+            return encode(disk, label(from), label(to));
+        }
+
+        private int label(int peg) {
+            return swap && peg != 0 ? 3 - peg : peg;
+        }
+    }
+
+    // k pegs: the Frame-Stewart recursion (park the top m disks on a spare peg,
+    // move the rest without it, bring the m back) run on an explicit stack of
+    // primitive frames. Each child frame has fewer disks, so n + 1 frames suffice.
+    private static final class FrameStewartMoves implements PrimitiveIterator.OfInt {
+        private final FrameStewartTable table;
+        private final int[] count;
+        private final int[] base;  // smallest disk of the frame
+        private final int[] from;
+        private final int[] to;
+        private final int[] pegs;  // bitmask of pegs the frame may use
+        private final int[] phase;
+        private int top;
+        private int pending = -1;
+
+        FrameStewartMoves(int n, int k, FrameStewartTable table) {
+            table.moves(n, k); // validates n and k
+            this.table = table;
+            int depth = n + 1;
+            count = new int[depth];
+            base = new int[depth];
+            from = new int[depth];
+            to = new int[depth];
+            pegs = new int[depth];
+            phase = new int[depth];
+            push(n, 0, k - 1, (1 << k) - 1, 0);
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (pending < 0) pending = advance();
+            return pending >= 0;
+        }
+
+        @Override
+        public int nextInt() {
+            if (!hasNext()) throw new NoSuchElementException();
+            int move = pending;
+            pending = -1;
+            return move;
+        }
+
+        // Runs the stack until the next single-disk move, or -1 when done
+        private int advance() {
+            while (top > 0) {
+                int f = top - 1;
+                int n = count[f];
+                if (n <= 1) {
+                    top--;
+                    if (n == 1) return encode(base[f], from[f], to[f]);
+                    continue;
+                }
+
+                int m = table.split(n, Integer.bitCount(pegs[f]));
+                int spare = Integer.numberOfTrailingZeros(pegs[f] & ~(1 << from[f]) & ~(1 << to[f]));
+                switch (phase[f]++) {
+                    case 0 -> push(m, from[f], spare, pegs[f], base[f]);
+                    case 1 -> push(n - m, from[f], to[f], pegs[f] & ~(1 << spare), base[f] + m);
+                    case 2 -> push(m, spare, to[f], pegs[f], base[f]);
+                    default -> top--;
+                }
+            }
+            return -1;
+        }
+
+        private void push(int n, int src, int dst, int mask, int smallest) {
+            count[top] = n;
+            base[top] = smallest;
+            from[top] = src;
+            to[top] = dst;
+            pegs[top] = mask;
+            phase[top] = 0;
+            top++;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.games.service;
+
+import java.util.List;
+
+/**
+ * Checks a player's move list in one pass.
+ * Each peg is a bitmask of the disks on it (bit d = disk d, 0 the smallest), so
+ * the top disk is the lowest set bit and a move is two mask updates. Moves are
+ * parsed in place from the frontend's "A -> D " form without creating strings.
+ */
+final class HanoiSequenceValidator {
+
+    static final int MAX_DISKS = 63;
+
+    // invalidIndex is the first bad move, or moves.size() if every move is legal
+    // but the tower is not finished; -1 when the sequence solves the puzzle
+    record Result(boolean valid, int invalidIndex, String error) {
+        static Result ok() {
+            return new Result(true, -1, null);
+        }
+
+        static Result invalid(int index, String error) {
+            return new Result(false, index, error);
+        }
+    }
+
+    private HanoiSequenceValidator() {}
+
+    static Result validate(List<String> moves, int n, int pegs) {
+        if (n < 0 || n > MAX_DISKS) throw new IllegalArgumentException("Number of disks must be between 0 and " + MAX_DISKS);
+        long all = (1L << n) - 1;
+        long[] towers = new long[pegs];
+        towers[0] = all;
+
+        for (int i = 0; i < moves.size(); i++) {
+            String move = moves.get(i);
+            if (move == null) return Result.invalid(i, "Missing move");
+
+            // "<from> -> <to>", surrounding spaces optional
+            int p = skipSpaces(move, 0);
+            int from = peg(move, p);
+            p = skipSpaces(move, p + 1);
+            boolean arrow = p + 1 < move.length() && move.charAt(p) == '-' && move.charAt(p + 1) == '>';
+            p = skipSpaces(move, p + 2);
+            int to = peg(move, p);
+            if (from < 0 || !arrow || to < 0 || skipSpaces(move, p + 1) != move.length()) {
+                return Result.invalid(i, "Unreadable move '" + move + "'");
+            }
+
+            if (from >= pegs || to >= pegs) return Result.invalid(i, "No such peg in '" + move + "'");
+            if (from == to) return Result.invalid(i, "Move to the same peg");
+            long src = towers[from];
+            if (src == 0) return Result.invalid(i, "Peg " + (char) ('A' + from) + " is empty");
+            long disk = src & -src;
+            long dst = towers[to];
+            if (dst != 0 && (dst & -dst) < disk) {
+                return Result.invalid(i, "Larger disk placed on a smaller one at peg " + (char) ('A' + to));
+            }
+            towers[from] = src ^ disk;
+            towers[to] = dst | disk;
+        }
+
+        if (towers[pegs - 1] != all) {
+            return Result.invalid(moves.size(), "Not all disks are on peg " + (char) ('A' + pegs - 1));
+        }
+        return Result.ok();
+    }
+
+    private static int skipSpaces(String s, int p) {
+        while (p < s.length() && s.charAt(p) == ' ') p++;
+        return p;
+    }
+
+    // Peg index of the letter at p, or -1
+    private static int peg(String s, int p) {
+        if (p >= s.length()) return -1;
+        char c = s.charAt(p);
+        return c >= 'A' && c <= 'Z' ? c - 'A' : -1;
+    }
+}
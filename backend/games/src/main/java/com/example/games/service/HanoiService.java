@@ -6,8 +6,11 @@ import com.example.games.repository.HanoiRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
 
 @Service
 public class HanoiService {
@@ -17,11 +20,32 @@ public class HanoiService {
 
     private final Map<String, HanoiGameData> activeGames = new ConcurrentHashMap<>();
 
+    // Largest games a player can request: 3-peg solvers walk all 2^n - 1 moves,
+    // 4-peg games run three full state-space searches over 4^n states.
+    // 5+ peg games only use the Frame-Stewart table.
+    static final int MAX_DISKS = 20;
+    static final int MAX_DISKS_4_PEGS = 12;
+    public static final int MAX_PEGS = FrameStewartTable.MAX_PEGS;
+
+    // Frame-Stewart move counts and splits for every supported game size
+    private final FrameStewartTable frameStewart = new FrameStewartTable();
+
     public HanoiGameData startGame(String playerName, int numPegs) {
+        return startGame(playerName, numPegs, null);
+    }
+
+    // numDisks is optional; by default a random 5-10
+    public HanoiGameData startGame(String playerName, int numPegs, Integer numDisks) {
         String gameId = UUID.randomUUID().toString();
         
-        // Random disks 5-10
-        int n = new Random().nextInt(6) + 5; 
+        if (numPegs < 3 || numPegs > MAX_PEGS) {
+            throw new IllegalArgumentException("Number of pegs must be between 3 and " + MAX_PEGS);
+        }
+        int maxDisks = numPegs == 4 ? MAX_DISKS_4_PEGS : MAX_DISKS;
+        if (numDisks != null && (numDisks < 1 || numDisks > maxDisks)) {
+            throw new IllegalArgumentException("Number of disks must be between 1 and " + maxDisks);
+        }
+        int n = numDisks != null ? numDisks : new Random().nextInt(6) + 5;
         
         HanoiGameData data = new HanoiGameData();
         data.setGameId(gameId);
@@ -57,7 +81,7 @@ public class HanoiService {
             long endIter = System.nanoTime();
             times.put("Iterative", (endIter - startIter) / 1000);
         
-        } else {
+        } else if (game.getNumPegs() == 4) {
             // 4-Peg Algorithms
             
             // 1. Frame-Stewart
@@ -82,10 +106,32 @@ public class HanoiService {
             // We'll use the FrameStewart result as the "Optimal" baseline usually, 
             // but BFS is the guaranteed shortest path finding algo.
             optimalMoves = bfsMoves; 
+
+            // 3. Bidirectional BFS (meets in the middle)
+            long startBi = System.nanoTime();
+            solveBidirectional4(game.getNumDisks());
+            long endBi = System.nanoTime();
+            times.put("Bidirectional", (endBi - startBi) / 1000);
+
+            // 4. Parallel BFS (frontier expanded across the common pool)
+            long startPar = System.nanoTime();
+            solveParallelBFS4(game.getNumDisks());
+            long endPar = System.nanoTime();
+            times.put("ParallelBFS", (endPar - startPar) / 1000);
+
+        } else {
+            // 5+ Pegs: the state space is too large to search, Frame-Stewart only
+            long startFS = System.nanoTime();
+            optimalMoves = solveFrameStewart(game.getNumDisks(), game.getNumPegs());
+            long endFS = System.nanoTime();
+            times.put("FrameStewart", (endFS - startFS) / 1000);
         }
 
         boolean isCorrect = (userMinMoves == optimalMoves);
-        // Can also validate userSequence size against optimalMoves
+        // Replay the player's moves; null when no sequence was sent
+        HanoiSequenceValidator.Result sequenceCheck = userSequence != null
+                ? HanoiSequenceValidator.validate(userSequence, game.getNumDisks(), game.getNumPegs())
+                : null;
         
         // Save
         HanoiGameResult result = new HanoiGameResult();
@@ -97,15 +143,21 @@ public class HanoiService {
         result.setOptimalMinMoves(optimalMoves);
         // Just store length of sequence or first few moves if string is too long
         if (userSequence != null) {
-             result.setUserSequence("Count: " + userSequence.size());
+             result.setUserSequence("Count: " + userSequence.size() + (sequenceCheck.valid()
+                     ? ", valid"
+                     : ", invalid at move " + sequenceCheck.invalidIndex() + ": " + sequenceCheck.error()));
         }
         
         if (game.getNumPegs() == 3) {
             result.setAlgo1Time(times.get("Recursive"));
             result.setAlgo2Time(times.get("Iterative"));
-        } else {
+        } else if (game.getNumPegs() == 4) {
             result.setAlgo1Time(times.get("FrameStewart"));
             result.setAlgo2Time(times.get("BFS"));
+            result.setAlgo3Time(times.get("Bidirectional"));
+            result.setAlgo4Time(times.get("ParallelBFS"));
+        } else {
+            result.setAlgo1Time(times.get("FrameStewart"));
         }
         
         repository.save(result);
@@ -116,6 +168,11 @@ public class HanoiService {
         response.setCorrect(isCorrect);
         response.setAlgorithmTimes(times);
         response.setMessage(isCorrect ? "Correct! Optimal moves found." : "Incorrect. Optimal moves: " + optimalMoves);
+        if (sequenceCheck != null) {
+            response.setSequenceValid(sequenceCheck.valid());
+            response.setInvalidMoveIndex(sequenceCheck.valid() ? null : sequenceCheck.invalidIndex());
+            response.setSequenceError(sequenceCheck.error());
+        }
         
         return response;
     }
@@ -136,157 +193,67 @@ public class HanoiService {
         return moves;
     }
 
-    // 2. Iterative: Stack-based simulation of moves
+    // 2. Iterative: walks the binary-counter move generator, no stack or per-move allocation
     private int solveIterative3(int n) {
-        // Simulate using explicit stack
-        // Each task: (numDisks, source, dest, aux)
-        java.util.Stack<int[]> stack = new java.util.Stack<>();
-        stack.push(new int[]{n, 0, 2, 1}); // Move n disks from peg 0 to peg 2
-        
+        PrimitiveIterator.OfInt moves = HanoiMoves.optimal(n, 3, frameStewart);
         int moveCount = 0;
-        
-        while (!stack.isEmpty()) {
-            int[] task = stack.pop();
-            int disks = task[0];
-            int src = task[1];
-            int dst = task[2];
-            int aux = task[3];
-            
-            if (disks == 1) {
-                moveCount++; // Direct move
-            } else if (disks > 1) {
-                // Push in reverse order (so they execute in correct order)
-                // 3. Move n-1 from aux to dest
-                stack.push(new int[]{disks - 1, aux, dst, src});
-                // 2. Move 1 from source to dest
-                stack.push(new int[]{1, src, dst, aux});
-                // 1. Move n-1 from source to aux
-                stack.push(new int[]{disks - 1, src, aux, dst});
-            }
+        while (moves.hasNext()) {
+            moves.nextInt();
+            moveCount++;
         }
-        
         return moveCount;
     }
 
     // --- 4 Pegs Algorithms ---
 
-    // 1. Frame-Stewart Algorithm
-    // dp[n][k] = min( 2*dp[n-r][k] + dp[r][k-1] ) for 1 <= r < n
+    // 1. Frame-Stewart Algorithm (any k >= 3)
+    // Looked up in the T[n][k] table built once for the service lifetime, see FrameStewartTable
     private int solveFrameStewart(int n, int k) {
-        if (n == 0) return 0;
-        if (n == 1) return 1;
-        if (k == 3) return (1 << n) - 1;
-
-        int minMoves = Integer.MAX_VALUE;
-
-        // Try splitting at every possible r
-        for (int r = 1; r < n; r++) {
-            // Move n-r disks to temp peg using k pegs
-            // moves = 2 * T(n-r, k) + T(r, k-1)
-            // Wait, standard FS is: Move top n-r disks to i using k pegs.
-            // Move bottom r disks to dest using k-1 pegs.
-            // Move top n-r disks to dest using k pegs.
-            // T(n, k) = 2 * T(n-r, k) + T(r, k-1)
-            // No, the bottom r disks are moved to dest using k-1 pegs? NO.
-            // Actually: Move top k disks (where k is split point).
-            // Common formula: T(n, 4) = min( 2*T(n-k, 4) + T(k, 3) )
-            
-            // Let's use `i` as the number of disks to move to intermediate
-            // 2 * solve(n-i, 4) + solve(i, 3)
-            // where i [1..n-1]
-            
-            int val = 2 * solveFrameStewart(n - r, k) + solveRecursive3(r);
-            if (val < minMoves) minMoves = val;
-        }
-        return minMoves;
+        return frameStewart.moves(n, k);
     }
     
     // 2. BFS for Shortest Path (N disks, 4 Pegs)
+    // States are bit-packed (2 bits per disk) with a flat visited bitset, see HanoiStateSpace
     private int solveBFS4(int n) {
-        // State: List of 4 Stacks? Or simpler representation.
-        // Array of sets? Or just an array `int[n]` where index is disk size (0..n-1) and value is Peg (0..3).
-        // Since disks are distinct size, `int[n]` is enough. 
-        // Valid move: disk `d` on peg `p` can move to peg `q` if `d` < top(q).
-        
-        class State {
-            int[] pegOfDisk; // index 0 is smallest disk, n-1 is largest
-            int dist;
-            
-            State(int[] p, int d) {
-                this.pegOfDisk = p.clone();
-                this.dist = d;
-            }
-            
-            boolean isGoal() {
-                for (int p : pegOfDisk) if (p != 3) return false; // Goal is Peg 3 (D)
-                return true;
-            }
-            
-            @Override
-            public boolean equals(Object o) {
-                if (this == o) return true;
-                if (o == null || getClass() != o.getClass()) return false;
-                State state = (State) o;
-                return Arrays.equals(pegOfDisk, state.pegOfDisk);
-            }
+        return HanoiStateSpace.shortestPath(n, 4);
+    }
 
-            @Override
-            public int hashCode() {
-                return Arrays.hashCode(pegOfDisk);
-            }
-            
-            // Get top disk of each peg (or -1 if empty)
-            int[] getTops() {
-                int[] tops = new int[4];
-                Arrays.fill(tops, Integer.MAX_VALUE);
-                // Iterate from largest to smallest disk to find who's on top
-                for (int d = n - 1; d >= 0; d--) {
-                    tops[pegOfDisk[d]] = d;
-                }
-                return tops;
-            }
+    // 3. Bidirectional BFS from the start and goal configurations
+    private int solveBidirectional4(int n) {
+        return HanoiStateSpace.bidirectional(n, 4);
+    }
+
+    // 4. Level-synchronous BFS with each frontier split across the pool
+    private int solveParallelBFS4(int n) {
+        return HanoiStateSpace.parallelShortestPath(n, 4, ForkJoinPool.commonPool());
+    }
+    
+    // Optimal move sequence of a game, generated lazily
+    public PrimitiveIterator.OfInt optimalMoves(String gameId) {
+        HanoiGameData game = activeGames.get(gameId);
+        if (game == null) {
+            throw new IllegalArgumentException("Game not found");
         }
+        return HanoiMoves.optimal(game.getNumDisks(), game.getNumPegs(), frameStewart);
+    }
 
-        int[] start = new int[n];
-        Arrays.fill(start, 0); // All on Peg 0 (A)
-        
-        Queue<State> queue = new LinkedList<>();
-        Set<String> visited = new HashSet<>();
-        
-        State initState = new State(start, 0);
-        queue.add(initState);
-        visited.add(Arrays.toString(start));
-        
-        while (!queue.isEmpty()) {
-            State current = queue.poll();
-            if (current.isGoal()) return current.dist;
-            
-            int[] tops = current.getTops();
-            
-            // Try moving top of each peg to every other peg
-            for (int fromPeg = 0; fromPeg < 4; fromPeg++) {
-                int diskToMove = tops[fromPeg];
-                if (diskToMove == Integer.MAX_VALUE) continue; // Empty peg
-                
-                for (int toPeg = 0; toPeg < 4; toPeg++) {
-                    if (fromPeg == toPeg) continue;
-                    
-                    int topOfDest = tops[toPeg];
-                    if (diskToMove < topOfDest) {
-                        // Valid move
-                        int[] nextPegs = current.pegOfDisk.clone();
-                        nextPegs[diskToMove] = toPeg;
-                        
-                        String key = Arrays.toString(nextPegs);
-                        if (!visited.contains(key)) {
-                            visited.add(key);
-                            queue.add(new State(nextPegs, current.dist + 1));
-                        }
-                    }
-                }
-            }
+    // Writes moves as a JSON array of "A -> C" strings while they are generated
+    public void writeMoves(PrimitiveIterator.OfInt moves, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write('[');
+        boolean first = true;
+        while (moves.hasNext()) {
+            int move = moves.nextInt();
+            if (!first) writer.write(',');
+            first = false;
+            writer.write('"');
+            writer.write('A' + HanoiMoves.from(move));
+            writer.write(" -> ");
+            writer.write('A' + HanoiMoves.to(move));
+            writer.write('"');
         }
-        return -1;
+        writer.write(']');
+        writer.flush();
     }
     
     public Map<String, Object> getComparisonData() {
@@ -297,8 +264,11 @@ public class HanoiService {
         
         // Separate counters for 3-peg and 4-peg algorithms
         long recursiveSum = 0, iterativeSum = 0;
-        long frameStewartSum = 0, bfsSum = 0;
-        int count3Peg = 0, count4Peg = 0;
+        long frameStewartSum = 0, bfsSum = 0, manyPegSum = 0;
+        long bidirectionalSum = 0, parallelBfsSum = 0;
+        int count3Peg = 0, count4Peg = 0, countManyPeg = 0;
+        // 4-peg games saved before the multicore BFS variants have no times for them
+        int countBidirectional = 0, countParallelBfs = 0;
         
         for (HanoiGameResult game : games) {
             Map<String, Object> gameData = new HashMap<>();
@@ -314,11 +284,25 @@ public class HanoiService {
                 recursiveSum += game.getAlgo1Time();
                 iterativeSum += game.getAlgo2Time();
                 count3Peg++;
-            } else {
+            } else if (game.getNumPegs() == 4) {
                 algorithmTimes.put("FrameStewart (4-peg)", game.getAlgo1Time());
                 // BFS removed from comparison
                 frameStewartSum += game.getAlgo1Time();
                 count4Peg++;
+                if (game.getAlgo3Time() != null) {
+                    algorithmTimes.put("Bidirectional BFS (4-peg)", game.getAlgo3Time());
+                    bidirectionalSum += game.getAlgo3Time();
+                    countBidirectional++;
+                }
+                if (game.getAlgo4Time() != null) {
+                    algorithmTimes.put("Parallel BFS (4-peg)", game.getAlgo4Time());
+                    parallelBfsSum += game.getAlgo4Time();
+                    countParallelBfs++;
+                }
+            } else {
+                algorithmTimes.put("FrameStewart (5+ peg)", game.getAlgo1Time());
+                manyPegSum += game.getAlgo1Time();
+                countManyPeg++;
             }
             gameData.put("algorithmTimes", algorithmTimes);
             
@@ -334,12 +318,22 @@ public class HanoiService {
         if (count4Peg > 0) {
             averages.put("FrameStewart (4-peg)", frameStewartSum / count4Peg);
         }
+        if (countBidirectional > 0) {
+            averages.put("Bidirectional BFS (4-peg)", bidirectionalSum / countBidirectional);
+        }
+        if (countParallelBfs > 0) {
+            averages.put("Parallel BFS (4-peg)", parallelBfsSum / countParallelBfs);
+        }
+        if (countManyPeg > 0) {
+            averages.put("FrameStewart (5+ peg)", manyPegSum / countManyPeg);
+        }
         
         result.put("games", gamesList);
         result.put("averages", averages);
         result.put("count", games.size());
         result.put("count3Peg", count3Peg);
         result.put("count4Peg", count4Peg);
+        result.put("count5PlusPeg", countManyPeg);
         
         return result;
     }
@@ -0,0 +1,317 @@
+package com.example.games.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bit-packed state space for Tower of Hanoi with up to 4 pegs.
+ * A configuration is an int with 2 bits per disk: bits 2d..2d+1 hold the peg of
+ * disk d (0 = smallest). All disks start on peg 0 (state 0) and the goal is the
+ * last peg. Visited states are a flat bitset over all 4^n codes and the BFS
+ * queue is a growable int ring buffer, so the search allocates no per-state objects.
+ * Moves are reversible, so the same move generator also searches back from the goal.
+ */
+final class HanoiStateSpace {
+
+    static final int MAX_PEGS = 4;
+    // 4^14 states = 32 MB of visited bits
+    static final int MAX_DISKS = 14;
+
+    private static final int PAIR_LOW_BITS = 0x5555_5555;
+
+    // Parallel BFS: frontier chunks per pool worker, and the smallest chunk
+    // worth scheduling as its own task
+    private static final int CHUNKS_PER_WORKER = 4;
+    private static final int MIN_CHUNK = 1024;
+
+    private HanoiStateSpace() {}
+
+    static int goal(int n, int pegs) {
+        return (pegs - 1) * (PAIR_LOW_BITS & fullMask(n));
+    }
+
+    // Mask covering the 2n bits used by n disks
+    static int fullMask(int n) {
+        return (1 << (2 * n)) - 1;
+    }
+
+    // Writes the top (smallest) disk of each peg into tops, or n if the peg is empty
+    static void tops(int state, int n, int pegs, int[] tops) {
+        int mask = fullMask(n);
+        for (int p = 0; p < pegs; p++) {
+            // Pairs equal to p become 11 after the xor-complement; keep their low bit
+            int same = ~(state ^ (p * PAIR_LOW_BITS)) & mask;
+            int onPeg = same & (same >>> 1) & PAIR_LOW_BITS;
+            tops[p] = onPeg == 0 ? n : Integer.numberOfTrailingZeros(onPeg) >>> 1;
+        }
+    }
+
+    // State after moving disk d from peg 'from' to peg 'to'
+    static int move(int state, int d, int from, int to) {
+        return state ^ ((from ^ to) << (2 * d));
+    }
+
+    // Minimum number of moves from all-on-peg-0 to all-on-the-last-peg, by BFS
+    static int shortestPath(int n, int pegs) {
+        checkSize(n, pegs);
+        int goal = goal(n, pegs);
+        if (goal == 0) return 0;
+
+        long[] visited = new long[bitsetWords(n)];
+        IntQueue queue = new IntQueue(1 << 10);
+        int[] tops = new int[pegs];
+        visited[0] |= 1L;
+        queue.add(0);
+
+        for (int depth = 1; !queue.isEmpty(); depth++) {
+            // Expand one full level so the depth needs no per-state storage
+            for (int remaining = queue.size(); remaining > 0; remaining--) {
+                int state = queue.poll();
+                tops(state, n, pegs, tops);
+                for (int from = 0; from < pegs; from++) {
+                    int d = tops[from];
+                    if (d == n) continue;
+                    for (int to = 0; to < pegs; to++) {
+                        if (to == from || tops[to] < d) continue;
+                        int next = move(state, d, from, to);
+                        if (next == goal) return depth;
+                        if (markVisited(visited, next)) queue.add(next);
+                    }
+                }
+            }
+        }
+        return -1;
+    }
+
+    // Bidirectional BFS: alternately expands a full level from whichever side has
+    // the smaller frontier. If the visited sets were disjoint after depths dA and dB,
+    // every path is longer than dA + dB, so the first state reached from one side
+    // that the other side has visited closes a shortest path of dA + dB + 1 moves.
+    static int bidirectional(int n, int pegs) {
+        checkSize(n, pegs);
+        int goal = goal(n, pegs);
+        if (goal == 0) return 0;
+
+        long[] visitedStart = new long[bitsetWords(n)];
+        long[] visitedGoal = new long[bitsetWords(n)];
+        IntQueue fromStart = new IntQueue(1 << 10);
+        IntQueue fromGoal = new IntQueue(1 << 10);
+        int[] tops = new int[pegs];
+        markVisited(visitedStart, 0);
+        markVisited(visitedGoal, goal);
+        fromStart.add(0);
+        fromGoal.add(goal);
+        int depthStart = 0;
+        int depthGoal = 0;
+
+        while (!fromStart.isEmpty() && !fromGoal.isEmpty()) {
+            boolean expandStart = fromStart.size() <= fromGoal.size();
+            IntQueue queue = expandStart ? fromStart : fromGoal;
+            long[] own = expandStart ? visitedStart : visitedGoal;
+            long[] other = expandStart ? visitedGoal : visitedStart;
+
+            for (int remaining = queue.size(); remaining > 0; remaining--) {
+                int state = queue.poll();
+                tops(state, n, pegs, tops);
+                for (int from = 0; from < pegs; from++) {
+                    int d = tops[from];
+                    if (d == n) continue;
+                    for (int to = 0; to < pegs; to++) {
+                        if (to == from || tops[to] < d) continue;
+                        int next = move(state, d, from, to);
+                        if (isVisited(other, next)) return depthStart + depthGoal + 1;
+                        if (markVisited(own, next)) queue.add(next);
+                    }
+                }
+            }
+            if (expandStart) depthStart++;
+            else depthGoal++;
+        }
+        return -1;
+    }
+
+    // Level-synchronous BFS: each frontier is split into chunks expanded in parallel
+    // on the pool. Workers claim states in a shared atomic bitset, so each state
+    // enters exactly one next frontier; chunk results are concatenated between levels.
+    static int parallelShortestPath(int n, int pegs, ForkJoinPool pool) {
+        checkSize(n, pegs);
+        int goal = goal(n, pegs);
+        if (goal == 0) return 0;
+
+        AtomicLongArray visited = new AtomicLongArray(bitsetWords(n));
+        claim(visited, 0);
+        int[] frontier = {0};
+        int chunks = pool.getParallelism() * CHUNKS_PER_WORKER;
+
+        for (int depth = 1; frontier.length > 0; depth++) {
+            int chunkSize = Math.max(MIN_CHUNK, (frontier.length + chunks - 1) / chunks);
+            List<LevelTask> tasks = new ArrayList<>();
+            for (int lo = 0; lo < frontier.length; lo += chunkSize) {
+                tasks.add(new LevelTask(n, pegs, frontier, lo, Math.min(frontier.length, lo + chunkSize), visited));
+            }
+            pool.invoke(new ForkAll(tasks));
+
+            if (isVisited(visited, goal)) return depth;
+
+            int total = 0;
+            for (LevelTask task : tasks) total += task.getRawResult().length;
+            int[] next = new int[total];
+            int offset = 0;
+            for (LevelTask task : tasks) {
+                int[] part = task.getRawResult();
+                System.arraycopy(part, 0, next, offset, part.length);
+                offset += part.length;
+            }
+            frontier = next;
+        }
+        return -1;
+    }
+
+    // Runs the chunk tasks of one level inside the pool
+    private static final class ForkAll extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        @SuppressWarnings("serial") // tasks are never serialized
+        private final List<LevelTask> tasks;
+
+        ForkAll(List<LevelTask> tasks) {
+            this.tasks = tasks;
+        }
+
+        @Override
+        protected void compute() {
+            ForkJoinTask.invokeAll(tasks);
+        }
+    }
+
+    // Expands frontier[lo, hi) and returns the states this task claimed first
+    private static final class LevelTask extends RecursiveTask<int[]> {
+        private static final long serialVersionUID = 1L;
+
+        private final int n;
+        private final int pegs;
+        private final int[] frontier;
+        private final int lo;
+        private final int hi;
+        private final AtomicLongArray visited;
+
+        LevelTask(int n, int pegs, int[] frontier, int lo, int hi, AtomicLongArray visited) {
+            this.n = n;
+            this.pegs = pegs;
+            this.frontier = frontier;
+            this.lo = lo;
+            this.hi = hi;
+            this.visited = visited;
+        }
+
+        @Override
+        protected int[] compute() {
+            int[] out = new int[Math.max(16, (hi - lo) * 2)];
+            int size = 0;
+            int[] tops = new int[pegs];
+            for (int i = lo; i < hi; i++) {
+                int state = frontier[i];
+                tops(state, n, pegs, tops);
+                for (int from = 0; from < pegs; from++) {
+                    int d = tops[from];
+                    if (d == n) continue;
+                    for (int to = 0; to < pegs; to++) {
+                        if (to == from || tops[to] < d) continue;
+                        int next = move(state, d, from, to);
+                        if (claim(visited, next)) {
+                            if (size == out.length) out = Arrays.copyOf(out, size * 2);
+                            out[size++] = next;
+                        }
+                    }
+                }
+            }
+            return Arrays.copyOf(out, size);
+        }
+    }
+
+    // Atomically sets the bit for state; false if another worker got there first
+    private static boolean claim(AtomicLongArray visited, int state) {
+        int word = state >>> 6;
+        long bit = 1L << state;
+        while (true) {
+            long current = visited.get(word);
+            if ((current & bit) != 0) return false;
+            if (visited.compareAndSet(word, current, current | bit)) return true;
+        }
+    }
+
+    private static boolean isVisited(AtomicLongArray visited, int state) {
+        return (visited.get(state >>> 6) & (1L << state)) != 0;
+    }
+
+    static void checkSize(int n, int pegs) {
+        if (pegs < 3 || pegs > MAX_PEGS) throw new IllegalArgumentException("State-space search supports 3 or 4 pegs");
+        if (n < 0 || n > MAX_DISKS) throw new IllegalArgumentException("State-space search supports at most " + MAX_DISKS + " disks");
+    }
+
+    // Codes use 2 bits per disk even with 3 pegs, so the bitset covers 4^n states
+    static int bitsetWords(int n) {
+        return (int) Math.max(1, (1L << (2 * n)) >>> 6);
+    }
+
+    // Sets the bit for state; false if it was already set
+    static boolean markVisited(long[] visited, int state) {
+        int word = state >>> 6;
+        long bit = 1L << state;
+        if ((visited[word] & bit) != 0) return false;
+        visited[word] |= bit;
+        return true;
+    }
+
+    static boolean isVisited(long[] visited, int state) {
+        return (visited[state >>> 6] & (1L << state)) != 0;
+    }
+
+    // FIFO of ints in a power-of-two ring buffer that doubles when full
+    static final class IntQueue {
+        private int[] items;
+        private int head;
+        private int size;
+
+        // capacity must be a power of two
+        IntQueue(int capacity) {
+            items = new int[capacity];
+        }
+
+        void add(int value) {
+            if (size == items.length) grow();
+            items[(head + size) & (items.length - 1)] = value;
+            size++;
+        }
+
+        int poll() {
+            int value = items[head];
+            head = (head + 1) & (items.length - 1);
+            size--;
+            return value;
+        }
+
+        int size() {
+            return size;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        private void grow() {
+            int[] bigger = new int[items.length << 1];
+            int firstPart = items.length - head;
+            System.arraycopy(items, head, bigger, 0, firstPart);
+            System.arraycopy(items, 0, bigger, firstPart, head);
+            items = bigger;
+            head = 0;
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.example.games.service;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Held-Karp run one subset-size layer at a time. Every subset with k cities
+ * depends only on subsets with k - 1 cities, so each layer is split into rank
+ * ranges that fill in parallel on a fork/join pool. Each subset pulls from its
+ * predecessors and writes only its own cells.
+ * Node 0 is Home. Masks range over the other m nodes (bit j = node j + 1).
+ * Subsets of one size are numbered by their colex rank, which is the same as
+ * numeric order, so a task unranks its first mask and steps with Gosper's hack.
+ * tour() keeps the whole table and its parent pointers. cost() keeps only two
+ * adjacent layers, storing for each subset just the entries for its own cities.
+ */
+final class HeldKarp {
+
+    static final int MAX_TOUR_CITIES = 20; // full table: 2^19 * 19 ints
+    static final int MAX_COST_CITIES = 22; // widest layer: C(21, 10) * 10 ints
+
+    private static final int CHUNKS_PER_WORKER = 4;
+    private static final int MIN_CHUNK = 256;
+
+    // BINOMIAL[n][k] for n, k < 32
+    private static final int[][] BINOMIAL = new int[32][32];
+
+    static {
+        for (int n = 0; n < 32; n++) {
+            BINOMIAL[n][0] = 1;
+            for (int k = 1; k <= n; k++) BINOMIAL[n][k] = BINOMIAL[n - 1][k - 1] + BINOMIAL[n - 1][k];
+        }
+    }
+
+    private HeldKarp() {}
+
+    // Optimal visiting order of nodes 1..m, starting and ending at node 0
+    static int[] tour(int[][] dist, ForkJoinPool pool) {
+        int m = dist.length - 1;
+        if (m + 1 > MAX_TOUR_CITIES) throw new IllegalArgumentException("Held-Karp tour is limited to " + MAX_TOUR_CITIES + " cities");
+        if (m == 0) return new int[0];
+        int fullMask = (1 << m) - 1;
+
+        // dp[mask * m + j] = min cost from Home through exactly the cities in mask, ending at city j + 1
+        // parent[mask * m + j] = node visited just before it (0 = Home)
+        int[] dp = new int[(fullMask + 1) * m];
+        byte[] parent = new byte[(fullMask + 1) * m];
+        for (int j = 0; j < m; j++) {
+            dp[(1 << j) * m + j] = dist[0][j + 1];
+        }
+
+        for (int k = 2; k <= m; k++) {
+            runLayer(pool, m, k, (mask, rank) -> {
+                for (int rest = mask; rest != 0; rest &= rest - 1) {
+                    int j = Integer.numberOfTrailingZeros(rest);
+                    int prev = mask ^ (1 << j);
+                    int best = Integer.MAX_VALUE;
+                    int from = 0;
+                    for (int bits = prev; bits != 0; bits &= bits - 1) {
+                        int i = Integer.numberOfTrailingZeros(bits);
+                        int candidate = dp[prev * m + i] + dist[i + 1][j + 1];
+                        if (candidate < best) {
+                            best = candidate;
+                            from = i + 1;
+                        }
+                    }
+                    dp[mask * m + j] = best;
+                    parent[mask * m + j] = (byte) from;
+                }
+            });
+        }
+
+        // Close the tour back to Home from the best last city
+        int minCost = Integer.MAX_VALUE;
+        int last = 0;
+        for (int j = 0; j < m; j++) {
+            int cost = dp[fullMask * m + j] + dist[j + 1][0];
+            if (cost < minCost) {
+                minCost = cost;
+                last = j + 1;
+            }
+        }
+
+        // Walk the parent pointers back to Home, filling the order from the end
+        int[] order = new int[m];
+        int mask = fullMask;
+        for (int k = m - 1; k >= 0; k--) {
+            order[k] = last;
+            int prev = parent[mask * m + last - 1];
+            mask ^= 1 << (last - 1);
+            last = prev;
+        }
+        return order;
+    }
+
+    // Optimal tour cost only. layer[rank * k + t] is the best path through the
+    // rank-th subset of size k that ends at its t-th lowest city.
+    static int cost(int[][] dist, ForkJoinPool pool) {
+        int m = dist.length - 1;
+        if (m + 1 > MAX_COST_CITIES) throw new IllegalArgumentException("Held-Karp cost is limited to " + MAX_COST_CITIES + " cities");
+        if (m == 0) return 0;
+
+        int[] previous = new int[m];
+        for (int j = 0; j < m; j++) previous[j] = dist[0][j + 1]; // rank of {j} is j
+
+        for (int k = 2; k <= m; k++) {
+            int[] from = previous;
+            int[] layer = new int[BINOMIAL[m][k] * k];
+            int size = k;
+            runLayer(pool, m, k, (mask, rank) -> {
+                int t = 0;
+                for (int rest = mask; rest != 0; rest &= rest - 1, t++) {
+                    int j = Integer.numberOfTrailingZeros(rest);
+                    int prev = mask ^ (1 << j);
+                    int base = rank(prev) * (size - 1);
+                    int best = Integer.MAX_VALUE;
+                    int s = 0;
+                    for (int bits = prev; bits != 0; bits &= bits - 1, s++) {
+                        int i = Integer.numberOfTrailingZeros(bits);
+                        best = Math.min(best, from[base + s] + dist[i + 1][j + 1]);
+                    }
+                    layer[rank * size + t] = best;
+                }
+            });
+            previous = layer;
+        }
+
+        // The last layer holds the single full set
+        int minCost = Integer.MAX_VALUE;
+        for (int j = 0; j < m; j++) minCost = Math.min(minCost, previous[j] + dist[j + 1][0]);
+        return minCost;
+    }
+
+    // --- Subset ranking ---
+
+    // Colex rank among masks of the same popcount: sum of C(b_i, i) over the
+    // set bits b_1 < b_2 < ...
+    static int rank(int mask) {
+        int rank = 0;
+        int i = 1;
+        for (int rest = mask; rest != 0; rest &= rest - 1, i++) {
+            rank += BINOMIAL[Integer.numberOfTrailingZeros(rest)][i];
+        }
+        return rank;
+    }
+
+    // Mask of popcount k with the given colex rank, highest bit first
+    static int unrank(int rank, int k) {
+        int mask = 0;
+        for (int i = k; i >= 1; i--) {
+            int b = i - 1;
+            while (BINOMIAL[b + 1][i] <= rank) b++;
+            rank -= BINOMIAL[b][i];
+            mask |= 1 << b;
+        }
+        return mask;
+    }
+
+    // Next larger mask with the same popcount (Gosper's hack)
+    private static int nextMask(int mask) {
+        int low = mask & -mask;
+        int ripple = mask + low;
+        return ripple | (((mask ^ ripple) >>> 2) / low);
+    }
+
+    // --- Layer scheduling ---
+
+    @FunctionalInterface
+    private interface MaskBody {
+        void apply(int mask, int rank);
+    }
+
+    // Applies body to every k-subset of m cities; small layers run on the caller
+    private static void runLayer(ForkJoinPool pool, int m, int k, MaskBody body) {
+        int count = BINOMIAL[m][k];
+        int grain = Math.max(MIN_CHUNK, count / (pool.getParallelism() * CHUNKS_PER_WORKER));
+        LayerTask task = new LayerTask(k, 0, count, grain, body);
+        if (count <= grain) task.compute();
+        else pool.invoke(task);
+    }
+
+    // Ranks [lo, hi) of one layer, halved until a range is at most grain subsets
+    private static final class LayerTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int k;
+        private final int lo;
+        private final int hi;
+        private final int grain;
+        @SuppressWarnings("serial") // tasks are never serialized
+        private final MaskBody body;
+
+        LayerTask(int k, int lo, int hi, int grain, MaskBody body) {
+            this.k = k;
+            this.lo = lo;
+            this.hi = hi;
+            this.grain = grain;
+            this.body = body;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo > grain) {
+                int mid = (lo + hi) >>> 1;
+                invokeAll(new LayerTask(k, lo, mid, grain, body), new LayerTask(k, mid, hi, grain, body));
+                return;
+            }
+            int mask = unrank(lo, k);
+            for (int rank = lo; rank < hi; rank++) {
+                body.apply(mask, rank);
+                if (rank + 1 < hi) mask = nextMask(mask);
+            }
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.games.service;
+
+import java.util.Arrays;
+
+/**
+ * Bitboard N-Queens engine.
+ * Occupied columns and both diagonals are kept as int masks, so each row
+ * only iterates the free squares (lowest-set-bit) instead of re-scanning
+ * the rows placed so far. Solutions are emitted as a reused int[] board.
+ */
+final class NQueensBitboard {
+
+    // 4 bits per row packed into a long, so boards up to 16x16 can be packed
+    static final int MAX_PACKED_SIZE = 16;
+
+    private NQueensBitboard() {}
+
+    // Receives each solution. The array is reused by the solver, copy it if you keep it.
+    @FunctionalInterface
+    interface SolutionSink {
+        void accept(int[] cols);
+    }
+
+    // Counts all solutions, calling sink (may be null) for each one
+    static long solve(int n, SolutionSink sink) {
+        if (n < 1 || n > 31) throw new IllegalArgumentException("Board size must be between 1 and 31");
+        return solveFrom(0, n, 0, 0, 0, new int[n], sink);
+    }
+
+    // Continues the search from a partial board: rows [0, row) are already placed in board
+    static long solveFrom(int row, int n, int cols, int diag1, int diag2, int[] board, SolutionSink sink) {
+        return place(row, n, (1 << n) - 1, cols, diag1, diag2, board, sink);
+    }
+
+    private static long place(int row, int n, int full, int cols, int diag1, int diag2, int[] board, SolutionSink sink) {
+        if (row == n) {
+            if (sink != null) sink.accept(board);
+            return 1;
+        }
+
+        long count = 0;
+        int free = full & ~(cols | diag1 | diag2);
+        while (free != 0) {
+            int bit = free & -free; // lowest free column
+            free ^= bit;
+            board[row] = Integer.numberOfTrailingZeros(bit);
+            count += place(row + 1, n, full, cols | bit, (diag1 | bit) << 1, (diag2 | bit) >>> 1, board, sink);
+        }
+        return count;
+    }
+
+    // --- Packing: row r's column stored in bits [4r, 4r+4) ---
+
+    static long pack(int[] cols) {
+        if (cols.length > MAX_PACKED_SIZE) throw new IllegalArgumentException("Board too large to pack");
+        long packed = 0;
+        for (int r = 0; r < cols.length; r++) {
+            packed |= ((long) cols[r]) << (4 * r);
+        }
+        return packed;
+    }
+
+    static int[] unpack(long packed, int n) {
+        int[] cols = new int[n];
+        for (int r = 0; r < n; r++) {
+            cols[r] = (int) ((packed >>> (4 * r)) & 0xF);
+        }
+        return cols;
+    }
+
+    // Sink collecting packed solutions into a growable long[]
+    static final class PackedSink implements SolutionSink {
+        private long[] solutions = new long[64];
+        private int size;
+
+        @Override
+        public void accept(int[] cols) {
+            if (size == solutions.length) solutions = Arrays.copyOf(solutions, size * 2);
+            solutions[size++] = pack(cols);
+        }
+
+        int size() { return size; }
+
+        long[] toArray() { return Arrays.copyOf(solutions, size); }
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.games.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Work-stealing N-Queens solver.
+ * The top rows of the bitboard search are split into one task per free column,
+ * down to a configurable depth; below that each task runs the sequential
+ * bitboard search. Every task returns its own count/solutions, which are
+ * summed on join, so no locks or shared collections are involved.
+ */
+final class NQueensForkJoinSolver {
+
+    static final int DEFAULT_SPLIT_DEPTH = 3;
+
+    // Subtrees with this few rows left are cheaper to search than to fork
+    private static final int MIN_ROWS_TO_SPLIT = 4;
+
+    private NQueensForkJoinSolver() {}
+
+    static long count(int n, int splitDepth, ForkJoinPool pool) {
+        return pool.invoke(new SubtreeTask(n, splitDepth, false, 0, 0, 0, 0, new int[0])).count;
+    }
+
+    // Solutions packed 4 bits per row, see NQueensBitboard.pack
+    static long[] solve(int n, int splitDepth, ForkJoinPool pool) {
+        if (n > NQueensBitboard.MAX_PACKED_SIZE) throw new IllegalArgumentException("Board too large to pack");
+        return pool.invoke(new SubtreeTask(n, splitDepth, true, 0, 0, 0, 0, new int[0])).solutions;
+    }
+
+    private static final class Partial {
+        final long count;
+        final long[] solutions; // null when only counting
+
+        Partial(long count, long[] solutions) {
+            this.count = count;
+            this.solutions = solutions;
+        }
+    }
+
+    private static final class SubtreeTask extends RecursiveTask<Partial> {
+        private static final long serialVersionUID = 1L;
+
+        private final int n;
+        private final int splitDepth;
+        private final boolean collect;
+        private final int row;
+        private final int cols;
+        private final int diag1;
+        private final int diag2;
+        private final int[] prefix; // columns of rows [0, row)
+
+        SubtreeTask(int n, int splitDepth, boolean collect, int row, int cols, int diag1, int diag2, int[] prefix) {
+            this.n = n;
+            this.splitDepth = splitDepth;
+            this.collect = collect;
+            this.row = row;
+            this.cols = cols;
+            this.diag1 = diag1;
+            this.diag2 = diag2;
+            this.prefix = prefix;
+        }
+
+        @Override
+        protected Partial compute() {
+            if (row >= splitDepth || n - row <= MIN_ROWS_TO_SPLIT) {
+                return searchLeaf();
+            }
+
+            List<SubtreeTask> children = new ArrayList<>();
+            int free = ((1 << n) - 1) & ~(cols | diag1 | diag2);
+            while (free != 0) {
+                int bit = free & -free;
+                free ^= bit;
+                int[] childPrefix = Arrays.copyOf(prefix, row + 1);
+                childPrefix[row] = Integer.numberOfTrailingZeros(bit);
+                children.add(new SubtreeTask(n, splitDepth, collect, row + 1,
+                        cols | bit, (diag1 | bit) << 1, (diag2 | bit) >>> 1, childPrefix));
+            }
+            ForkJoinTask.invokeAll(children);
+
+            long count = 0;
+            int size = 0;
+            for (SubtreeTask child : children) {
+                Partial p = child.join();
+                count += p.count;
+                if (collect) size += p.solutions.length;
+            }
+            if (!collect) return new Partial(count, null);
+
+            long[] merged = new long[size];
+            int offset = 0;
+            for (SubtreeTask child : children) {
+                long[] part = child.join().solutions;
+                System.arraycopy(part, 0, merged, offset, part.length);
+                offset += part.length;
+            }
+            return new Partial(count, merged);
+        }
+
+        private Partial searchLeaf() {
+            int[] board = Arrays.copyOf(prefix, n);
+            if (!collect) {
+                return new Partial(NQueensBitboard.solveFrom(row, n, cols, diag1, diag2, board, null), null);
+            }
+            NQueensBitboard.PackedSink sink = new NQueensBitboard.PackedSink();
+            long count = NQueensBitboard.solveFrom(row, n, cols, diag1, diag2, board, sink);
+            return new Partial(count, sink.toArray());
+        }
+    }
+}
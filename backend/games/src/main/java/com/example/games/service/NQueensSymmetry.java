@@ -0,0 +1,149 @@
+package com.example.games.service;
+
+import java.util.Arrays;
+
+/**
+ * Symmetry reduction for N-Queens.
+ * The 8 symmetries of the board (4 rotations, each optionally mirrored) split
+ * the solutions into classes; each class is represented by its lexicographically
+ * smallest board (the canonical form). Only half of the first row needs to be
+ * searched, and a solution is kept only if it is its own canonical form.
+ */
+final class NQueensSymmetry {
+
+    static final int SYMMETRIES = 8;
+
+    private NQueensSymmetry() {}
+
+    // Writes symmetry t (0-3: rotations by t*90 degrees, 4-7: the same then mirrored) of cols into out
+    static void transform(int[] cols, int t, int[] out) {
+        int n = cols.length;
+        for (int r = 0; r < n; r++) {
+            int row = r;
+            int col = cols[r];
+            for (int i = 0; i < (t & 3); i++) {
+                // Rotate 90 degrees: (row, col) -> (col, n-1-row)
+                int tmp = row;
+                row = col;
+                col = n - 1 - tmp;
+            }
+            if (t >= 4) col = n - 1 - col;
+            out[row] = col;
+        }
+    }
+
+    // Canonical form: the lexicographically smallest of the 8 symmetric boards
+    static int[] canonical(int[] cols) {
+        int[] best = cols.clone();
+        int[] scratch = new int[cols.length];
+        for (int t = 1; t < SYMMETRIES; t++) {
+            transform(cols, t, scratch);
+            if (Arrays.compare(scratch, best) < 0) best = scratch.clone();
+        }
+        return best;
+    }
+
+    // Number of distinct boards in the solution's symmetry class (8, 4 or 2)
+    static int orbitSize(int[] cols) {
+        int[] scratch = new int[cols.length];
+        int fixed = 1; // identity
+        for (int t = 1; t < SYMMETRIES; t++) {
+            transform(cols, t, scratch);
+            if (Arrays.equals(scratch, cols)) fixed++;
+        }
+        return SYMMETRIES / fixed;
+    }
+
+    // Fundamental (canonical) solutions, packed 4 bits per row and sorted
+    static long[] fundamentals(int n) {
+        NQueensBitboard.PackedSink sink = new NQueensBitboard.PackedSink();
+        searchCanonical(n, sink::accept);
+        long[] result = sink.toArray();
+        Arrays.sort(result);
+        return result;
+    }
+
+    // Total solution count obtained by expanding each fundamental solution's class
+    static long countByClasses(int n) {
+        long[] total = {0};
+        searchCanonical(n, cols -> total[0] += orbitSize(cols));
+        return total[0];
+    }
+
+    // All solutions: every fundamental solution expanded into its symmetry class
+    static long[] expand(long[] fundamentals, int n) {
+        long[] all = new long[fundamentals.length * SYMMETRIES];
+        int size = 0;
+        int[] scratch = new int[n];
+        long[] orbit = new long[SYMMETRIES];
+        for (long f : fundamentals) {
+            int[] cols = NQueensBitboard.unpack(f, n);
+            int orbitLen = 0;
+            for (int t = 0; t < SYMMETRIES; t++) {
+                transform(cols, t, scratch);
+                long packed = NQueensBitboard.pack(scratch);
+                boolean seen = false;
+                for (int i = 0; i < orbitLen && !seen; i++) seen = orbit[i] == packed;
+                if (!seen) orbit[orbitLen++] = packed;
+            }
+            System.arraycopy(orbit, 0, all, size, orbitLen);
+            size += orbitLen;
+        }
+        return Arrays.copyOf(all, size);
+    }
+
+    // Index of the board's class within sorted fundamentals, or -1 if it is not a solution
+    static int classIndex(int[] cols, long[] sortedFundamentals) {
+        if (cols.length > NQueensBitboard.MAX_PACKED_SIZE) return -1;
+        int idx = Arrays.binarySearch(sortedFundamentals, NQueensBitboard.pack(canonical(cols)));
+        return idx >= 0 ? idx : -1;
+    }
+
+    // --- Search ---
+
+    // Mirroring maps column c to n-1-c, so a canonical board never has its
+    // first queen right of the middle. With the first queen in the middle
+    // column (odd n), the same argument applies to the second row.
+    private static void searchCanonical(int n, NQueensBitboard.SolutionSink sink) {
+        int[] board = new int[n];
+        int[] scratch = new int[n];
+        NQueensBitboard.SolutionSink canonicalOnly = cols -> {
+            if (isCanonical(cols, scratch)) sink.accept(cols);
+        };
+
+        if (n == 1) {
+            NQueensBitboard.solve(1, canonicalOnly);
+            return;
+        }
+
+        for (int c = 0; c < n / 2; c++) {
+            int bit = 1 << c;
+            board[0] = c;
+            NQueensBitboard.solveFrom(1, n, bit, bit << 1, bit >>> 1, board, canonicalOnly);
+        }
+
+        if (n % 2 == 1) {
+            int mid = n / 2;
+            int midBit = 1 << mid;
+            board[0] = mid;
+            int free = ~(midBit | (midBit << 1) | (midBit >>> 1)) & ((1 << mid) - 1);
+            while (free != 0) {
+                int bit = free & -free;
+                free ^= bit;
+                board[1] = Integer.numberOfTrailingZeros(bit);
+                int cols = midBit | bit;
+                int diag1 = (((midBit << 1) | bit) << 1);
+                int diag2 = (((midBit >>> 1) | bit) >>> 1);
+                NQueensBitboard.solveFrom(2, n, cols, diag1, diag2, board, canonicalOnly);
+            }
+        }
+    }
+
+    private static boolean isCanonical(int[] cols, int[] scratch) {
+        for (int t = 1; t < SYMMETRIES; t++) {
+            transform(cols, t, scratch);
+            if (Arrays.compare(scratch, cols) < 0) return false;
+        }
+        return true;
+    }
+}
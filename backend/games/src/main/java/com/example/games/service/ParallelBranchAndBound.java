@@ -0,0 +1,149 @@
+package com.example.games.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * Exact TSP by depth-first branch-and-bound, with the subtrees under the first
+ * SPLIT_DEPTH cities searched in parallel on a fork/join pool.
+ * All workers share the incumbent (best cost so far) through an AtomicInteger,
+ * so a tour found in one subtree immediately tightens pruning in the others.
+ * The incumbent starts at a seed tour's cost (nearest neighbour in the service).
+ * Bound: the rest of a tour enters and leaves every unvisited city once and
+ * leaves the current city and enters Home once. It therefore costs at least
+ * half the sum of each unvisited city's two cheapest edges plus the cheapest
+ * edge at the current city and at Home.
+ * Node 0 is Home and orders list nodes 1..m.
+ */
+final class ParallelBranchAndBound {
+
+    private static final int SPLIT_DEPTH = 2;
+
+    private final int[][] dist;
+    private final int m;
+    private final int[] firstMin;     // cheapest edge at each node
+    private final int[] twoMinSum;    // two cheapest edges at each node
+    private final int[][] byDistance; // other nodes 1..m, nearest first
+
+    private final AtomicInteger incumbent;
+    private int[] bestOrder;
+
+    private ParallelBranchAndBound(int[][] dist, int[] seedOrder) {
+        this.dist = dist;
+        this.m = dist.length - 1;
+        this.firstMin = new int[m + 1];
+        this.twoMinSum = new int[m + 1];
+        this.byDistance = new int[m + 1][];
+        for (int i = 0; i <= m; i++) {
+            int a = Integer.MAX_VALUE;
+            int b = Integer.MAX_VALUE;
+            for (int j = 0; j <= m; j++) {
+                if (j == i) continue;
+                int d = dist[i][j];
+                if (d < a) {
+                    b = a;
+                    a = d;
+                } else if (d < b) {
+                    b = d;
+                }
+            }
+            firstMin[i] = a;
+            twoMinSum[i] = b == Integer.MAX_VALUE ? 2 * a : a + b;
+            int from = i;
+            byDistance[i] = IntStream.rangeClosed(1, m)
+                    .filter(j -> j != from).boxed()
+                    .sorted((x, y) -> Integer.compare(dist[from][x], dist[from][y]))
+                    .mapToInt(Integer::intValue).toArray();
+        }
+        this.bestOrder = seedOrder.clone();
+        this.incumbent = new AtomicInteger(cost(seedOrder));
+    }
+
+    // Optimal visiting order of nodes 1..m; seedOrder is any complete tour
+    static int[] solve(int[][] dist, int[] seedOrder, ForkJoinPool pool) {
+        ParallelBranchAndBound search = new ParallelBranchAndBound(dist, seedOrder);
+        if (search.m < 3) return search.bestOrder;
+        int remaining = 0;
+        for (int i = 1; i <= search.m; i++) remaining += search.twoMinSum[i];
+        pool.invoke(search.new Branch(new int[0], 0, 0, 0, remaining));
+        return search.bestOrder;
+    }
+
+    private int cost(int[] order) {
+        int total = 0;
+        int current = 0;
+        for (int next : order) {
+            total += dist[current][next];
+            current = next;
+        }
+        return total + dist[current][0];
+    }
+
+    private int bound(int cost, int last, int depth, int remaining) {
+        if (depth == m) return cost + dist[last][0];
+        return cost + (remaining + firstMin[last] + firstMin[0] + 1) / 2;
+    }
+
+    private synchronized void offer(int cost, int[] path) {
+        if (cost >= incumbent.get()) return;
+        bestOrder = path.clone();
+        incumbent.set(cost);
+    }
+
+    // A subtree below a fixed prefix; forks its children while the prefix is
+    // shorter than SPLIT_DEPTH, then searches sequentially
+    private final class Branch extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] prefix;
+        private final int visited;   // bitmask over nodes 1..m
+        private final int cost;
+        private final int last;
+        private final int remaining; // sum of twoMinSum over unvisited nodes
+
+        Branch(int[] prefix, int visited, int cost, int last, int remaining) {
+            this.prefix = prefix;
+            this.visited = visited;
+            this.cost = cost;
+            this.last = last;
+            this.remaining = remaining;
+        }
+
+        @Override
+        protected void compute() {
+            if (bound(cost, last, prefix.length, remaining) >= incumbent.get()) return;
+            if (prefix.length < SPLIT_DEPTH) {
+                List<Branch> children = new ArrayList<>();
+                for (int next : byDistance[last]) {
+                    if ((visited & (1 << next)) != 0) continue;
+                    int[] path = Arrays.copyOf(prefix, prefix.length + 1);
+                    path[prefix.length] = next;
+                    children.add(new Branch(path, visited | 1 << next, cost + dist[last][next], next,
+                            remaining - twoMinSum[next]));
+                }
+                invokeAll(children);
+                return;
+            }
+            int[] path = Arrays.copyOf(prefix, m);
+            search(path, prefix.length, visited, cost, last, remaining);
+        }
+
+        private void search(int[] path, int depth, int visited, int cost, int last, int remaining) {
+            if (bound(cost, last, depth, remaining) >= incumbent.get()) return;
+            if (depth == m) {
+                offer(cost + dist[last][0], path);
+                return;
+            }
+            for (int next : byDistance[last]) {
+                if ((visited & (1 << next)) != 0) continue;
+                path[depth] = next;
+                search(path, depth + 1, visited | 1 << next, cost + dist[last][next], next, remaining - twoMinSum[next]);
+            }
+        }
+    }
+}
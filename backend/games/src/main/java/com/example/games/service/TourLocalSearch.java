@@ -0,0 +1,272 @@
+package com.example.games.service;
+
+import java.util.SplittableRandom;
+
+/**
+ * Local search on a Euclidean tour: 2-opt, Or-opt, and chained Or-opt.
+ * The tour is an array plus a position index. A 2-opt move reverses whichever
+ * side of the tour is shorter, so the orientation can flip, and every move is
+ * stated in terms of edges rather than directions. Candidate moves come only
+ * from each city's neighbour list. Cities whose surroundings have not changed
+ * sit out of the work queue ("don't-look bits").
+ * Or-opt moves a run of 1-3 cities between two others, possibly reversed. It is
+ * the segment-insertion subset of 3-opt and is carried out as two or three
+ * 2-opt moves. The chained variant applies a local double-bridge kick (two
+ * adjacent runs swapped), repairs the tour, and keeps the result unless it is
+ * longer. That is the perturbation scheme of Chained Lin-Kernighan, with Or-opt
+ * as the inner search.
+ */
+final class TourLocalSearch {
+
+    static final int MAX_SEGMENT = 3;
+    static final int MAX_KICK_RUN = 50;
+
+    private final EuclideanTsp inst;
+    private final int n;
+    private final int[] tour;
+    private final int[] pos;
+    private long length;
+
+    // Cities to re-examine, FIFO; queued[] doubles as the inverted don't-look bit
+    private final int[] queue;
+    private final boolean[] queued;
+    private int head;
+    private int size;
+
+    TourLocalSearch(EuclideanTsp inst, int[] start) {
+        this.inst = inst;
+        this.n = inst.n;
+        this.tour = start.clone();
+        this.pos = new int[n];
+        for (int i = 0; i < n; i++) pos[tour[i]] = i;
+        this.length = inst.tourLength(tour);
+        this.queue = new int[n];
+        this.queued = new boolean[n];
+        for (int c : tour) push(c);
+    }
+
+    int[] tour() {
+        return tour.clone();
+    }
+
+    long length() {
+        return length;
+    }
+
+    long twoOpt() {
+        optimize(false);
+        return length;
+    }
+
+    long orOpt() {
+        optimize(true);
+        return length;
+    }
+
+    // Or-opt local optimum, then kicks; each kick is kept only if the tour does not get longer
+    long chained(int kicks, long seed) {
+        optimize(true);
+        if (n < 8) return length;
+        SplittableRandom rand = new SplittableRandom(seed);
+        int[] best = tour.clone();
+        long bestLength = length;
+        int maxRun = Math.min(MAX_KICK_RUN, (n - 2) / 2);
+
+        for (int k = 0; k < kicks; k++) {
+            kick(rand.nextInt(n), 1 + rand.nextInt(maxRun), 1 + rand.nextInt(maxRun));
+            optimize(true);
+            if (length <= bestLength) {
+                System.arraycopy(tour, 0, best, 0, n);
+                bestLength = length;
+            } else {
+                System.arraycopy(best, 0, tour, 0, n);
+                for (int i = 0; i < n; i++) pos[tour[i]] = i;
+                length = bestLength;
+            }
+        }
+        return length;
+    }
+
+    private void optimize(boolean withOrOpt) {
+        while (size > 0) {
+            int a = queue[head];
+            head = (head + 1) % n;
+            size--;
+            queued[a] = false;
+            // An improving move requeues a, so one attempt per pop is enough
+            if (!improveTwoOpt(a) && withOrOpt) improveOrOpt(a);
+        }
+    }
+
+    // --- 2-opt ---
+
+    // Tries to replace edge (a, b), b the successor or predecessor of a, and the
+    // matching edge at a neighbour c, with (a, c) and (b, d)
+    private boolean improveTwoOpt(int a) {
+        for (int dir = 0; dir < 2; dir++) {
+            int b = dir == 0 ? succ(a) : pred(a);
+            int dab = inst.dist(a, b);
+            for (int c : inst.neighbors[a]) {
+                int dac = inst.dist(a, c);
+                if (dac >= dab) break;
+                int d = dir == 0 ? succ(c) : pred(c);
+                if (c == b || d == a) continue;
+                int delta = dac + inst.dist(b, d) - dab - inst.dist(c, d);
+                if (delta < 0) {
+                    if (dir == 0) move2opt(a, b, c, d);
+                    else move2opt(b, a, d, c);
+                    length += delta;
+                    push(a);
+                    push(b);
+                    push(c);
+                    push(d);
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    // Removes edges (a, b) and (c, d), adds (a, c) and (b, d). In the current
+    // orientation either b = succ(a) and d = succ(c), or both are predecessors.
+    private void move2opt(int a, int b, int c, int d) {
+        if (succ(a) == b) reverse(pos[b], pos[c]);
+        else reverse(pos[c], pos[b]);
+    }
+
+    // Reverses tour positions i..j (inclusive, wrapping), or the complement when
+    // that is shorter; both give the same cyclic tour
+    private void reverse(int i, int j) {
+        int len = (j - i + n) % n + 1;
+        if (2 * len > n) {
+            int from = (j + 1) % n;
+            j = (i - 1 + n) % n;
+            i = from;
+            len = n - len;
+        }
+        for (int k = len / 2; k > 0; k--) {
+            int ci = tour[i];
+            int cj = tour[j];
+            tour[i] = cj;
+            pos[cj] = i;
+            tour[j] = ci;
+            pos[ci] = j;
+            i = i + 1 == n ? 0 : i + 1;
+            j = j == 0 ? n - 1 : j - 1;
+        }
+    }
+
+    // --- Or-opt ---
+
+    // Tries to move a run of 1-3 cities that starts or ends at a between two
+    // adjacent cities u, v near one of its ends
+    private boolean improveOrOpt(int a) {
+        if (n < 8) return false;
+        for (int len = 1; len <= MAX_SEGMENT; len++) {
+            for (int end = 0; end < (len == 1 ? 1 : 2); end++) {
+                int s1 = end == 0 ? a : step(a, 1 - len);
+                int s2 = end == 0 ? step(a, len - 1) : a;
+                int p = pred(s1);
+                int nx = succ(s2);
+                int removed = inst.dist(p, s1) + inst.dist(s2, nx) - inst.dist(p, nx);
+                if (removed <= 0) continue;
+
+                for (int e = 0; e < 2; e++) {
+                    int s = e == 0 ? s1 : s2;
+                    for (int c : inst.neighbors[s]) {
+                        if (inst.dist(s, c) >= removed) break;
+                        if (inSegment(c, s1, len)) continue;
+                        for (int side = 0; side < 2; side++) {
+                            int u = side == 0 ? c : pred(c);
+                            int v = succ(u);
+                            if (u == p || v == p || inSegment(u, s1, len)) continue;
+                            int reversed = inst.dist(u, s2) + inst.dist(s1, v);
+                            int forward = inst.dist(u, s1) + inst.dist(s2, v);
+                            int gain = removed + inst.dist(u, v) - Math.min(reversed, forward);
+                            if (gain > 0) {
+                                moveSegment(p, s1, s2, nx, u, v, forward < reversed);
+                                length -= gain;
+                                push(p);
+                                push(nx);
+                                push(s1);
+                                push(s2);
+                                push(u);
+                                push(v);
+                                return true;
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    // Moves s1..s2 (p before it, nx after, all in current order) between u and
+    // v = succ(u): the first two 2-opt moves insert it reversed, a third flips it
+    private void moveSegment(int p, int s1, int s2, int nx, int u, int v, boolean keepOrientation) {
+        move2opt(p, s1, u, v);
+        if (u != nx) move2opt(p, u, nx, s2);
+        if (keepOrientation && s1 != s2) move2opt(u, s2, s1, v);
+    }
+
+    private boolean inSegment(int c, int s1, int len) {
+        int offset = pos[c] - pos[s1];
+        if (offset < 0) offset += n;
+        return offset < len;
+    }
+
+    // --- Kick ---
+
+    // Swaps the runs of l1 and l2 cities after position i: x A B y becomes x B A y
+    private void kick(int i, int l1, int l2) {
+        int[] run = new int[l1 + l2];
+        for (int k = 0; k < l1 + l2; k++) run[k] = tour[(i + 1 + k) % n];
+        int x = tour[i];
+        int y = tour[(i + l1 + l2 + 1) % n];
+        int a1 = run[0];
+        int a2 = run[l1 - 1];
+        int b1 = run[l1];
+        int b2 = run[l1 + l2 - 1];
+        length += inst.dist(x, b1) + inst.dist(b2, a1) + inst.dist(a2, y)
+                - inst.dist(x, a1) - inst.dist(a2, b1) - inst.dist(b2, y);
+
+        int p = (i + 1) % n;
+        for (int k = l1; k < l1 + l2; k++, p = (p + 1) % n) place(run[k], p);
+        for (int k = 0; k < l1; k++, p = (p + 1) % n) place(run[k], p);
+        push(x);
+        push(y);
+        push(a1);
+        push(a2);
+        push(b1);
+        push(b2);
+    }
+
+    private void place(int city, int p) {
+        tour[p] = city;
+        pos[city] = p;
+    }
+
+    // --- Helpers ---
+
+    private int succ(int c) {
+        int p = pos[c] + 1;
+        return tour[p == n ? 0 : p];
+    }
+
+    private int pred(int c) {
+        int p = pos[c];
+        return tour[p == 0 ? n - 1 : p - 1];
+    }
+
+    private int step(int c, int k) {
+        return tour[Math.floorMod(pos[c] + k, n)];
+    }
+
+    private void push(int c) {
+        if (queued[c]) return;
+        queued[c] = true;
+        queue[(head + size) % n] = c;
+        size++;
+    }
+}
@@ -4,11 +4,11 @@ import com.example.games.dto.TrafficDTOs.*;
 import com.example.games.entity.TrafficGameResult;
 import com.example.games.repository.TrafficRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
 
 @Service
 public class TrafficService {
@@ -18,174 +18,330 @@ public class TrafficService {
 
     private final Map<String, TrafficGameData> activeGames = new ConcurrentHashMap<>();
 
-    // Graph Structure: String Node -> Map<String Neighbor, Integer Capacity>
-    // Simplified for fixed nodes: A, B, C, D, E, F, G, H, T
-    // Using simple adjacency constant structure for key definition
+    // Max-flow residuals of the most recently used games, kept for incremental
+    // what-if updates. A large network pins tens of MB, so only a few are kept;
+    // an evicted game's residual is rebuilt on its next what-if.
+    @Value("${games.traffic.max-residuals:16}")
+    private int maxResiduals = 16;
+
+    private final Map<String, FlowNetwork> residuals = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, FlowNetwork> eldest) {
+                    return size() > maxResiduals;
+                }
+            });
+
+    // Fixed nodes: A, B, C, D, E, F, G, H, T (source A, sink T)
     private static final String SRC = "A";
     private static final String SINK = "T";
 
     public TrafficGameData startGame(String playerName) {
+        StartGameRequest request = new StartGameRequest();
+        request.setPlayerName(playerName);
+        return startGame(request);
+    }
+
+    // Network family, size and seed come from the request (defaults: the classic
+    // A..H -> T graph and a random seed). The seed is returned so the same
+    // network can be generated again.
+    public TrafficGameData startGame(StartGameRequest request) {
         String gameId = UUID.randomUUID().toString();
-        
-        List<EdgeDTO> edges = new ArrayList<>();
-        Random rand = new Random();
-
-        // Edge definitions as per requirements (Node -> Node)
-        // A->B, A->C, A->D
-        // B->E, B->F
-        // C->E, C->F
-        // D->F
-        // E->G, E->H
-        // F->H
-        // G->T
-        // H->T
-
-        addRandomEdge(edges, "A", "B", rand);
-        addRandomEdge(edges, "A", "C", rand);
-        addRandomEdge(edges, "A", "D", rand);
-        addRandomEdge(edges, "B", "E", rand);
-        addRandomEdge(edges, "B", "F", rand);
-        addRandomEdge(edges, "C", "E", rand);
-        addRandomEdge(edges, "C", "F", rand);
-        addRandomEdge(edges, "D", "F", rand);
-        addRandomEdge(edges, "E", "G", rand);
-        addRandomEdge(edges, "E", "H", rand);
-        addRandomEdge(edges, "F", "H", rand);
-        addRandomEdge(edges, "G", "T", rand);
-        addRandomEdge(edges, "H", "T", rand);
+
+        FlowNetworkGenerator.Family family = FlowNetworkGenerator.parseFamily(request.getNetworkType());
+        long seed = request.getSeed() != null ? request.getSeed() : new Random().nextLong();
+        List<EdgeDTO> edges = new FlowNetworkGenerator(seed).generate(family, request.getNodes(), request.getEdges());
 
         TrafficGameData data = new TrafficGameData();
         data.setGameId(gameId);
-        data.setPlayerName(playerName);
+        data.setPlayerName(request.getPlayerName());
+        data.setNetworkType(family.name());
+        data.setSeed(seed);
         data.setEdges(edges);
 
         activeGames.put(gameId, data);
         return data;
     }
 
-    private void addRandomEdge(List<EdgeDTO> edges, String u, String v, Random rand) {
-        // Random capacity 5-15
-        int cap = rand.nextInt(11) + 5; 
-        edges.add(new EdgeDTO(u, v, cap));
+    public TrafficResultResponse solveGame(String gameId, int userGuess) {
+        return solveGame(gameId, userGuess, false);
     }
 
-    public TrafficResultResponse solveGame(String gameId, int userGuess) {
+    public TrafficResultResponse solveGame(String gameId, int userGuess, boolean capacityScaling) {
         TrafficGameData game = activeGames.get(gameId);
         if (game == null) {
             throw new IllegalArgumentException("Game not found");
         }
 
-        Map<String, Long> times = new HashMap<>();
-
-        // 1. Ford-Fulkerson (DFS)
-        long startFF = System.nanoTime();
-        int maxFlowFF = fordFulkerson(game.getEdges());
-        long endFF = System.nanoTime();
-        times.put("FordFulkerson", (endFF - startFF) / 1000);
-
-        // 2. Edmonds-Karp (BFS)
-        long startEK = System.nanoTime();
-        int maxFlowEK = edmondsKarp(game.getEdges());
-        long endEK = System.nanoTime();
-        times.put("EdmondsKarp", (endEK - startEK) / 1000);
-
-        // Save result
-        TrafficGameResult result = new TrafficGameResult();
-        // Only save player name if answer is correct
-        result.setPlayerName(userGuess == maxFlowFF ? game.getPlayerName() : null);
-        result.setMaxFlow(maxFlowFF); // Assign one correct value
-        result.setUserGuess(userGuess);
-        result.setFordFulkersonTime((endFF - startFF) / 1000);
-        result.setEdmondsKarpTime((endEK - startEK) / 1000);
-        
+        // Edges, solve and stored residual change together under the game's lock,
+        // the same one whatIf holds while it edits capacities
+        TrafficGameResult result;
+        TrafficResultResponse response;
+        synchronized (game) {
+            Map<String, Long> times = new HashMap<>();
+            FlowNetwork network = FlowNetwork.build(game.getEdges());
+
+            // 1. Ford-Fulkerson (DFS)
+            long startFF = System.nanoTime();
+            int maxFlowFF = fordFulkerson(network, capacityScaling);
+            long endFF = System.nanoTime();
+            times.put("FordFulkerson", (endFF - startFF) / 1000);
+
+            // 2. Edmonds-Karp (BFS)
+            network.reset();
+            long startEK = System.nanoTime();
+            int maxFlowEK = edmondsKarp(network);
+            long endEK = System.nanoTime();
+            times.put("EdmondsKarp", (endEK - startEK) / 1000);
+
+            // 3. Dinic (level graph + blocking flow)
+            network.reset();
+            long startDinic = System.nanoTime();
+            dinic(network);
+            long endDinic = System.nanoTime();
+            times.put("Dinic", (endDinic - startDinic) / 1000);
+
+            // 4. Push-Relabel (highest label)
+            network.reset();
+            long startPR = System.nanoTime();
+            pushRelabel(network);
+            long endPR = System.nanoTime();
+            times.put("PushRelabel", (endPR - startPR) / 1000);
+
+            // Result row, saved once the lock is released
+            result = new TrafficGameResult();
+            // Only save player name if answer is correct
+            result.setPlayerName(userGuess == maxFlowFF ? game.getPlayerName() : null);
+            result.setMaxFlow(maxFlowFF); // Assign one correct value
+            result.setUserGuess(userGuess);
+            result.setFordFulkersonTime((endFF - startFF) / 1000);
+            result.setEdmondsKarpTime((endEK - startEK) / 1000);
+            result.setDinicTime((endDinic - startDinic) / 1000);
+            result.setPushRelabelTime((endPR - startPR) / 1000);
+
+            response = new TrafficResultResponse();
+            response.setMaxFlow(maxFlowFF);
+            response.setUserGuess(userGuess);
+            response.setCorrect(userGuess == maxFlowFF);
+            response.setAlgorithmTimes(times);
+            response.setMessage(response.isCorrect() ? "Correct! Optimal flow found." : "Incorrect. Max flow is " + maxFlowFF);
+            // Push-Relabel ran last and leaves a valid max flow in the residual
+            fillFlowReport(network, game.getEdges(), response);
+            residuals.put(gameId, network);
+        }
         repository.save(result);
-
-        TrafficResultResponse response = new TrafficResultResponse();
-        response.setMaxFlow(maxFlowFF);
-        response.setUserGuess(userGuess);
-        response.setCorrect(userGuess == maxFlowFF);
-        response.setAlgorithmTimes(times);
-        response.setMessage(response.isCorrect() ? "Correct! Optimal flow found." : "Incorrect. Max flow is " + maxFlowFF);
         
         return response;
     }
 
-    // --- Graph Helpers ---
-    private Map<String, Map<String, Integer>> buildGraph(List<EdgeDTO> edges) {
-        Map<String, Map<String, Integer>> graph = new HashMap<>();
-        for (EdgeDTO e : edges) {
-            graph.computeIfAbsent(e.getFrom(), k -> new HashMap<>()).put(e.getTo(), e.getCapacity());
-            // Ensure nodes exist in map even if no outgoing edges (for sink)
-            graph.computeIfAbsent(e.getTo(), k -> new HashMap<>());
+    // Applies capacity changes to a game's network and updates its max flow from the
+    // previous residual instead of solving again. The changes stick to the game.
+    public TrafficResultResponse whatIf(String gameId, WhatIfRequest request) {
+        TrafficGameData game = activeGames.get(gameId);
+        if (game == null) {
+            throw new IllegalArgumentException("Game not found");
+        }
+        List<CapacityChangeDTO> changes = request.getChanges() != null ? request.getChanges() : List.of();
+
+        // Same per-game lock as solveGame, so a solve never sees half-applied changes
+        synchronized (game) {
+            // Rebuilt outside the map's lock, which is shared by all games
+            FlowNetwork network = residuals.get(gameId);
+            if (network == null) {
+                network = FlowNetwork.build(game.getEdges());
+                dinic(network);
+                residuals.put(gameId, network);
+            }
+
+            // Validate everything first so a bad change leaves the game untouched
+            int[] edgeIndex = new int[changes.size()];
+            Map<Integer, Integer> newCapacity = new HashMap<>();
+            for (int i = 0; i < changes.size(); i++) {
+                CapacityChangeDTO change = changes.get(i);
+                int edge = findEdge(game.getEdges(), change.getFrom(), change.getTo());
+                int capacity = newCapacity.getOrDefault(edge, game.getEdges().get(edge).getCapacity()) + change.getDelta();
+                if (capacity < 0) {
+                    throw new IllegalArgumentException("Capacity of " + change.getFrom() + " -> " + change.getTo() + " cannot be negative");
+                }
+                edgeIndex[i] = edge;
+                newCapacity.put(edge, capacity);
+            }
+
+            int before = flowValue(network);
+            long start = System.nanoTime();
+            for (int i = 0; i < changes.size(); i++) {
+                changeCapacity(network, network.edgeArc[edgeIndex[i]], changes.get(i).getDelta());
+            }
+            newCapacity.forEach((edge, capacity) -> game.getEdges().get(edge).setCapacity(capacity));
+            // Increases and repaired decreases may both leave augmenting paths
+            dinic(network);
+            long end = System.nanoTime();
+            int after = flowValue(network);
+
+            Map<String, Long> times = new HashMap<>();
+            times.put("Incremental", (end - start) / 1000);
+
+            TrafficResultResponse response = new TrafficResultResponse();
+            response.setMaxFlow(after);
+            response.setUserGuess(request.getUserGuess());
+            response.setCorrect(request.getUserGuess() == after);
+            response.setAlgorithmTimes(times);
+            response.setMessage("Max flow changed from " + before + " to " + after);
+            fillFlowReport(network, game.getEdges(), response);
+            return response;
         }
-        return graph;
     }
-    
-    // Deep copy for isolation between algos
-    private Map<String, Map<String, Integer>> cloneGraph(Map<String, Map<String, Integer>> original) {
-        Map<String, Map<String, Integer>> copy = new HashMap<>();
-        for (String u : original.keySet()) {
-            copy.put(u, new HashMap<>(original.get(u)));
+
+    // Generated networks have no parallel edges; any other network with two
+    // edges from -> to is rejected rather than changing just one of them
+    private int findEdge(List<EdgeDTO> edges, String from, String to) {
+        int found = -1;
+        for (int i = 0; i < edges.size(); i++) {
+            EdgeDTO e = edges.get(i);
+            if (!e.getFrom().equals(from) || !e.getTo().equals(to)) continue;
+            if (found >= 0) throw new IllegalArgumentException("Ambiguous edge: more than one " + from + " -> " + to);
+            found = i;
+        }
+        if (found < 0) throw new IllegalArgumentException("Edge not found: " + from + " -> " + to);
+        return found;
+    }
+
+    // Changes the capacity of arc a while keeping the residual a valid flow.
+    // An increase only adds residual capacity. A decrease below the arc's current
+    // flow removes the overflow from a: it is rerouted u -> v where the residual
+    // allows, and the rest is cancelled back to the source (from u) and the sink
+    // (to v). s and t absorb imbalance, so they need no repair.
+    private void changeCapacity(FlowNetwork g, int a, int delta) {
+        g.original[a] += delta;
+        if (delta >= 0 || g.cap[a] >= -delta) {
+            g.cap[a] += delta;
+            return;
+        }
+
+        int overflow = -delta - g.cap[a];
+        g.cap[a] = 0;
+        g.cap[g.rev[a]] -= overflow;
+
+        int u = g.to[g.rev[a]];
+        int v = g.to[a];
+        int s = g.node(SRC);
+        int t = g.node(SINK);
+        int[] parentArc = new int[g.nodeCount];
+        int[] queue = new int[g.nodeCount];
+
+        overflow -= pushFlow(g, u, v, overflow, parentArc, queue);
+        if (overflow == 0) return;
+        if (u != s && u != t) pushFlow(g, u, s, overflow, parentArc, queue);
+        if (v != s && v != t) pushFlow(g, t, v, overflow, parentArc, queue);
+    }
+
+    // Pushes up to limit units from 'from' to 'to' along shortest residual paths
+    private int pushFlow(FlowNetwork g, int from, int to, int limit, int[] parentArc, int[] queue) {
+        int pushed = 0;
+        while (pushed < limit) {
+            Arrays.fill(parentArc, -1);
+            int qHead = 0, qTail = 0;
+            queue[qTail++] = from;
+            while (qHead < qTail && parentArc[to] < 0) {
+                int u = queue[qHead++];
+                for (int a = g.head[u]; a < g.head[u + 1]; a++) {
+                    int v = g.to[a];
+                    if (v != from && parentArc[v] < 0 && g.cap[a] > 0) {
+                        parentArc[v] = a;
+                        queue[qTail++] = v;
+                    }
+                }
+            }
+            if (parentArc[to] < 0) break;
+            pushed += augment(g, from, to, parentArc, limit - pushed);
         }
-        return copy;
+        return pushed;
+    }
+
+    // Net flow into the sink
+    private int flowValue(FlowNetwork g) {
+        int t = g.node(SINK);
+        if (t < 0) return 0;
+        int value = 0;
+        for (int a = g.head[t]; a < g.head[t + 1]; a++) value += g.cap[a] - g.original[a];
+        return value;
     }
 
     // --- ALGORITHMS ---
+    // Both run on the shared FlowNetwork (CSR arrays, see FlowNetwork),
+    // which is built once per solve and reset between algorithms.
 
     // 1. Ford-Fulkerson using DFS
+    // Explicit-stack DFS with a visit stamp per node, so deep networks can't overflow
+    // the call stack and each augmentation round allocates nothing.
+    // With capacity scaling, only arcs with residual >= delta are used, delta halving down to 1.
     private int fordFulkerson(List<EdgeDTO> edges) {
-        // Build Residual Graph. In simplified implementation, residual edges (backward) start with 0 capacity.
-        // Or we manage flows explicitly.
-        // Standard way: Map<u, Map<v, capacity>> where capacity includes residual.
-        
-        Map<String, Map<String, Integer>> capacity = new HashMap<>();
-        for(EdgeDTO e : edges) {
-            capacity.computeIfAbsent(e.getFrom(), k->new HashMap<>()).put(e.getTo(), e.getCapacity());
-            capacity.computeIfAbsent(e.getTo(), k->new HashMap<>()).put(e.getFrom(), 0); // Backward edge init 0
-        }
+        return fordFulkerson(FlowNetwork.build(edges), false);
+    }
 
-        int maxFlow = 0;
-        
-        while (true) {
-            Map<String, String> parent = new HashMap<>();
-            // Use DFS to find path
-            Set<String> visited = new HashSet<>();
-            if (!dfs(SRC, SINK, visited, capacity, parent)) {
-                break;
-            }
+    private int fordFulkerson(FlowNetwork g) {
+        return fordFulkerson(g, false);
+    }
 
-            // Find bottle neck
-            int pathFlow = Integer.MAX_VALUE;
-            String v = SINK;
-            while (!v.equals(SRC)) {
-                String u = parent.get(v);
-                pathFlow = Math.min(pathFlow, capacity.get(u).get(v));
-                v = u;
-            }
+    private int fordFulkerson(FlowNetwork g, boolean capacityScaling) {
+        int s = g.node(SRC);
+        int t = g.node(SINK);
+        if (s < 0 || t < 0) return 0;
+
+        int n = g.nodeCount;
+        int[] visitStamp = new int[n];
+        int[] parentArc = new int[n];
+        int[] nextArc = new int[n];
+        int[] stack = new int[n];
+        int stamp = 0;
+
+        int delta = 1;
+        if (capacityScaling) {
+            int maxCap = 0;
+            for (int c : g.cap) maxCap = Math.max(maxCap, c);
+            delta = Math.max(1, Integer.highestOneBit(maxCap));
+        }
 
-            // Update residual capacities
-            v = SINK;
-            while (!v.equals(SRC)) {
-                String u = parent.get(v);
-                capacity.get(u).put(v, capacity.get(u).get(v) - pathFlow);
-                capacity.get(v).put(u, capacity.get(v).get(u) + pathFlow);
-                v = u;
+        int maxFlow = 0;
+        for (; delta >= 1; delta >>= 1) {
+            while (true) {
+                if (++stamp == Integer.MAX_VALUE) {
+                    Arrays.fill(visitStamp, 0);
+                    stamp = 1;
+                }
+                if (!dfs(g, s, t, delta, stamp, visitStamp, parentArc, nextArc, stack)) {
+                    break;
+                }
+                maxFlow += augment(g, s, t, parentArc);
             }
-            maxFlow += pathFlow;
         }
         return maxFlow;
     }
 
-    private boolean dfs(String u, String t, Set<String> visited, Map<String, Map<String, Integer>> capacity, Map<String, String> parent) {
-        visited.add(u);
-        if (u.equals(t)) return true;
-
-        if (capacity.containsKey(u)) {
-            for (String v : capacity.get(u).keySet()) {
-                if (!visited.contains(v) && capacity.get(u).get(v) > 0) {
-                    parent.put(v, u);
-                    if (dfs(v, t, visited, capacity, parent)) return true;
-                }
+    private boolean dfs(FlowNetwork g, int s, int t, int delta, int stamp,
+                        int[] visitStamp, int[] parentArc, int[] nextArc, int[] stack) {
+        int top = 0;
+        stack[top++] = s;
+        visitStamp[s] = stamp;
+        nextArc[s] = g.head[s];
+
+        while (top > 0) {
+            int u = stack[top - 1];
+            if (u == t) return true;
+
+            int a = nextArc[u];
+            if (a == g.head[u + 1]) {
+                top--; // all arcs of u tried, backtrack
+                continue;
+            }
+            nextArc[u] = a + 1;
+
+            int v = g.to[a];
+            if (visitStamp[v] != stamp && g.cap[a] >= delta) {
+                visitStamp[v] = stamp;
+                parentArc[v] = a;
+                nextArc[v] = g.head[v];
+                stack[top++] = v;
             }
         }
         return false;
@@ -194,61 +350,344 @@ public class TrafficService {
 
     // 2. Edmonds-Karp using BFS
     private int edmondsKarp(List<EdgeDTO> edges) {
-        Map<String, Map<String, Integer>> capacity = new HashMap<>();
-        for(EdgeDTO e : edges) {
-            capacity.computeIfAbsent(e.getFrom(), k->new HashMap<>()).put(e.getTo(), e.getCapacity());
-            capacity.computeIfAbsent(e.getTo(), k->new HashMap<>()).put(e.getFrom(), 0); // Backward edge init 0
-        }
+        return edmondsKarp(FlowNetwork.build(edges));
+    }
+
+    private int edmondsKarp(FlowNetwork g) {
+        int s = g.node(SRC);
+        int t = g.node(SINK);
+        if (s < 0 || t < 0) return 0;
 
+        int[] parentArc = new int[g.nodeCount];
+        int[] queue = new int[g.nodeCount];
         int maxFlow = 0;
 
         while (true) {
-            Map<String, String> parent = new HashMap<>();
-            Queue<String> queue = new LinkedList<>();
-            queue.add(SRC);
-            parent.put(SRC, null);
+            Arrays.fill(parentArc, -1);
+            int qHead = 0, qTail = 0;
+            queue[qTail++] = s;
             
             boolean pathFound = false;
-            while (!queue.isEmpty()) {
-                String u = queue.poll();
-                if (u.equals(SINK)) {
-                    pathFound = true;
-                    break;
-                }
-                
-                if (capacity.containsKey(u)) {
-                    for (String v : capacity.get(u).keySet()) {
-                        if (!parent.containsKey(v) && capacity.get(u).get(v) > 0) {
-                            parent.put(v, u);
-                            queue.add(v);
+            while (qHead < qTail && !pathFound) {
+                int u = queue[qHead++];
+                for (int a = g.head[u]; a < g.head[u + 1]; a++) {
+                    int v = g.to[a];
+                    if (v != s && parentArc[v] < 0 && g.cap[a] > 0) {
+                        parentArc[v] = a;
+                        if (v == t) {
+                            pathFound = true;
+                            break;
                         }
+                        queue[qTail++] = v;
                     }
                 }
             }
 
             if (!pathFound) break;
+            maxFlow += augment(g, s, t, parentArc);
+        }
+
+        return maxFlow;
+    }
+
+    // 3. Dinic: BFS level graph, then blocking flow with current-arc pointers
+    private int dinic(List<EdgeDTO> edges) {
+        return dinic(FlowNetwork.build(edges));
+    }
+
+    private int dinic(FlowNetwork g) {
+        int s = g.node(SRC);
+        int t = g.node(SINK);
+        if (s < 0 || t < 0) return 0;
+
+        int n = g.nodeCount;
+        int[] level = new int[n];
+        int[] queue = new int[n];
+        int[] currentArc = new int[n];
+        int[] pathArc = new int[n];
+        int maxFlow = 0;
 
-            // Find flow
-            int pathFlow = Integer.MAX_VALUE;
-            String v = SINK;
-            while (!v.equals(SRC)) {
-                String u = parent.get(v);
-                pathFlow = Math.min(pathFlow, capacity.get(u).get(v));
-                v = u;
+        while (buildLevels(g, s, t, level, queue)) {
+            System.arraycopy(g.head, 0, currentArc, 0, n);
+
+            // Blocking flow: advance along admissible arcs, augment at t, retreat from dead ends
+            int u = s;
+            int depth = 0;
+            while (true) {
+                if (u == t) {
+                    int pathFlow = Integer.MAX_VALUE;
+                    for (int i = 0; i < depth; i++) pathFlow = Math.min(pathFlow, g.cap[pathArc[i]]);
+                    int firstSaturated = -1;
+                    for (int i = 0; i < depth; i++) {
+                        g.push(pathArc[i], pathFlow);
+                        if (firstSaturated < 0 && g.cap[pathArc[i]] == 0) firstSaturated = i;
+                    }
+                    maxFlow += pathFlow;
+                    // Resume from the tail of the first saturated arc
+                    depth = firstSaturated;
+                    u = g.to[g.rev[pathArc[depth]]];
+                    continue;
+                }
+
+                int a = currentArc[u];
+                int end = g.head[u + 1];
+                while (a < end && (g.cap[a] == 0 || level[g.to[a]] != level[u] + 1)) a++;
+                currentArc[u] = a;
+
+                if (a < end) {
+                    pathArc[depth++] = a;
+                    u = g.to[a];
+                } else {
+                    // Dead end: drop u from the level graph and retreat
+                    if (u == s) break;
+                    level[u] = -1;
+                    int back = pathArc[--depth];
+                    u = g.to[g.rev[back]];
+                    currentArc[u]++;
+                }
             }
+        }
+        return maxFlow;
+    }
 
-            // Update
-            v = SINK;
-            while (!v.equals(SRC)) {
-                String u = parent.get(v);
-                capacity.get(u).put(v, capacity.get(u).get(v) - pathFlow);
-                capacity.get(v).put(u, capacity.get(v).get(u) + pathFlow);
-                v = u;
+    // BFS distances from s over residual arcs; false if t is unreachable
+    private boolean buildLevels(FlowNetwork g, int s, int t, int[] level, int[] queue) {
+        Arrays.fill(level, -1);
+        level[s] = 0;
+        int qHead = 0, qTail = 0;
+        queue[qTail++] = s;
+        while (qHead < qTail) {
+            int u = queue[qHead++];
+            for (int a = g.head[u]; a < g.head[u + 1]; a++) {
+                int v = g.to[a];
+                if (level[v] < 0 && g.cap[a] > 0) {
+                    level[v] = level[u] + 1;
+                    queue[qTail++] = v;
+                }
             }
-            maxFlow += pathFlow;
         }
+        return level[t] >= 0;
+    }
 
-        return maxFlow;
+    // 4. Push-Relabel: highest-label selection with gap and global relabeling.
+    // Runs until no node has excess, so the final preflow is a valid flow.
+    private int pushRelabel(List<EdgeDTO> edges) {
+        return pushRelabel(FlowNetwork.build(edges));
+    }
+
+    private int pushRelabel(FlowNetwork g) {
+        int s = g.node(SRC);
+        int t = g.node(SINK);
+        if (s < 0 || t < 0 || s == t) return 0;
+        return new PushRelabel(g, s, t).run();
+    }
+
+    private static final class PushRelabel {
+        private final FlowNetwork g;
+        private final int n, s, t;
+        private final int[] height;
+        private final long[] excess;
+        private final int[] currentArc;
+        private final int[] heightCount;  // nodes per height, for the gap heuristic
+        private final int[] bucketHead;   // active nodes per height (singly linked)
+        private final int[] bucketNext;
+        private final int[] queue;
+        private int maxActive = -1;
+        private int relabelsSinceGlobal;
+
+        PushRelabel(FlowNetwork g, int s, int t) {
+            this.g = g;
+            this.n = g.nodeCount;
+            this.s = s;
+            this.t = t;
+            this.height = new int[n];
+            this.excess = new long[n];
+            this.currentArc = new int[n];
+            this.heightCount = new int[2 * n + 2];
+            this.bucketHead = new int[2 * n + 2];
+            this.bucketNext = new int[n];
+            this.queue = new int[n];
+        }
+
+        int run() {
+            // Saturate every arc out of the source
+            for (int a = g.head[s]; a < g.head[s + 1]; a++) {
+                int f = g.cap[a];
+                if (f > 0) {
+                    g.push(a, f);
+                    excess[g.to[a]] += f;
+                    excess[s] -= f;
+                }
+            }
+            globalRelabel();
+
+            while (maxActive >= 0) {
+                int u = bucketHead[maxActive];
+                if (u < 0) {
+                    maxActive--;
+                    continue;
+                }
+                bucketHead[maxActive] = bucketNext[u];
+                discharge(u);
+            }
+            return (int) excess[t];
+        }
+
+        private void discharge(int u) {
+            while (excess[u] > 0) {
+                int a = currentArc[u];
+                int end = g.head[u + 1];
+                while (a < end && (g.cap[a] == 0 || height[u] != height[g.to[a]] + 1)) a++;
+                currentArc[u] = a;
+
+                if (a < end) {
+                    int v = g.to[a];
+                    int f = (int) Math.min(excess[u], g.cap[a]);
+                    g.push(a, f);
+                    excess[u] -= f;
+                    if (excess[v] == 0 && v != s && v != t) activate(v);
+                    excess[v] += f;
+                } else if (!relabel(u)) {
+                    // Labels were rebuilt (gap or global relabel); u is re-queued if still active
+                    return;
+                }
+            }
+        }
+
+        // Returns false if the relabel triggered a gap or global relabel
+        private boolean relabel(int u) {
+            int oldHeight = height[u];
+            int minHeight = 2 * n;
+            for (int a = g.head[u]; a < g.head[u + 1]; a++) {
+                if (g.cap[a] > 0) minHeight = Math.min(minHeight, height[g.to[a]] + 1);
+            }
+            heightCount[oldHeight]--;
+            currentArc[u] = g.head[u];
+
+            if (oldHeight < n && heightCount[oldHeight] == 0) {
+                // Gap: nothing at oldHeight, so every node above it (below n) can't reach t
+                for (int v = 0; v < n; v++) {
+                    if (v != s && height[v] > oldHeight && height[v] < n) {
+                        heightCount[height[v]]--;
+                        height[v] = n + 1;
+                        heightCount[n + 1]++;
+                        currentArc[v] = g.head[v];
+                    }
+                }
+                height[u] = Math.max(n + 1, minHeight);
+                heightCount[height[u]]++;
+                rebuildBuckets();
+                return false;
+            }
+
+            height[u] = minHeight;
+            heightCount[minHeight]++;
+
+            if (++relabelsSinceGlobal >= n) {
+                globalRelabel();
+                return false;
+            }
+            return true;
+        }
+
+        // Exact labels: distance to t in the residual graph, or n + distance to s
+        private void globalRelabel() {
+            relabelsSinceGlobal = 0;
+            Arrays.fill(height, 2 * n);
+            Arrays.fill(heightCount, 0);
+            height[t] = 0;
+            bfsLabels(t);
+            height[s] = n;
+            bfsLabels(s);
+            for (int v = 0; v < n; v++) {
+                heightCount[height[v]]++;
+                currentArc[v] = g.head[v];
+            }
+            rebuildBuckets();
+        }
+
+        // Backward BFS from root: w gets a label if it has a residual arc into a labeled node
+        private void bfsLabels(int root) {
+            int qHead = 0, qTail = 0;
+            queue[qTail++] = root;
+            while (qHead < qTail) {
+                int v = queue[qHead++];
+                for (int a = g.head[v]; a < g.head[v + 1]; a++) {
+                    int w = g.to[a];
+                    if (height[w] == 2 * n && w != s && w != t && g.cap[g.rev[a]] > 0) {
+                        height[w] = height[v] + 1;
+                        queue[qTail++] = w;
+                    }
+                }
+            }
+        }
+
+        private void rebuildBuckets() {
+            Arrays.fill(bucketHead, -1);
+            maxActive = -1;
+            for (int v = 0; v < n; v++) {
+                if (v != s && v != t && excess[v] > 0) activate(v);
+            }
+        }
+
+        private void activate(int v) {
+            int h = height[v];
+            bucketNext[v] = bucketHead[h];
+            bucketHead[h] = v;
+            if (h > maxActive) maxActive = h;
+        }
+    }
+
+    // Pushes the bottleneck flow along the s->t path recorded in parentArc
+    private int augment(FlowNetwork g, int s, int t, int[] parentArc) {
+        return augment(g, s, t, parentArc, Integer.MAX_VALUE);
+    }
+
+    private int augment(FlowNetwork g, int s, int t, int[] parentArc, int limit) {
+        int pathFlow = limit;
+        for (int v = t; v != s; v = g.to[g.rev[parentArc[v]]]) {
+            pathFlow = Math.min(pathFlow, g.cap[parentArc[v]]);
+        }
+        for (int v = t; v != s; v = g.to[g.rev[parentArc[v]]]) {
+            g.push(parentArc[v], pathFlow);
+        }
+        return pathFlow;
+    }
+    
+    // Min cut and per-edge flow read off a max-flow residual in one linear pass:
+    // the source side is everything still reachable from s, an edge's flow is its
+    // original capacity minus what is left on its forward arc.
+    private void fillFlowReport(FlowNetwork g, List<EdgeDTO> edges, TrafficResultResponse response) {
+        boolean[] sourceSide = new boolean[g.nodeCount];
+        int s = g.node(SRC);
+        if (s >= 0) {
+            int[] queue = new int[g.nodeCount];
+            int qHead = 0, qTail = 0;
+            queue[qTail++] = s;
+            sourceSide[s] = true;
+            while (qHead < qTail) {
+                int u = queue[qHead++];
+                for (int a = g.head[u]; a < g.head[u + 1]; a++) {
+                    int v = g.to[a];
+                    if (!sourceSide[v] && g.cap[a] > 0) {
+                        sourceSide[v] = true;
+                        queue[qTail++] = v;
+                    }
+                }
+            }
+        }
+
+        List<EdgeDTO> minCut = new ArrayList<>();
+        List<EdgeFlowDTO> edgeFlows = new ArrayList<>(edges.size());
+        for (int i = 0; i < edges.size(); i++) {
+            EdgeDTO e = edges.get(i);
+            int a = g.edgeArc[i];
+            edgeFlows.add(new EdgeFlowDTO(e.getFrom(), e.getTo(), e.getCapacity(), g.original[a] - g.cap[a]));
+            int u = g.to[g.rev[a]];
+            if (sourceSide[u] && !sourceSide[g.to[a]]) minCut.add(e);
+        }
+        response.setMinCut(minCut);
+        response.setEdgeFlows(edgeFlows);
     }
     
     public Map<String, Object> getComparisonData() {
@@ -259,6 +698,8 @@ public class TrafficService {
         
         long ffSum = 0;
         long ekSum = 0;
+        long dinicSum = 0, prSum = 0;
+        int dinicCount = 0, prCount = 0;
         int count = games.size();
         
         for (TrafficGameResult game : games) {
@@ -270,6 +711,17 @@ public class TrafficService {
             Map<String, Long> algorithmTimes = new HashMap<>();
             algorithmTimes.put("FordFulkerson", game.getFordFulkersonTime());
             algorithmTimes.put("EdmondsKarp", game.getEdmondsKarpTime());
+            // Older rows were recorded before Dinic and Push-Relabel were added
+            if (game.getDinicTime() != null) {
+                algorithmTimes.put("Dinic", game.getDinicTime());
+                dinicSum += game.getDinicTime();
+                dinicCount++;
+            }
+            if (game.getPushRelabelTime() != null) {
+                algorithmTimes.put("PushRelabel", game.getPushRelabelTime());
+                prSum += game.getPushRelabelTime();
+                prCount++;
+            }
             gameData.put("algorithmTimes", algorithmTimes);
             
             gamesList.add(gameData);
@@ -282,6 +734,8 @@ public class TrafficService {
             averages.put("FordFulkerson", ffSum / count);
             averages.put("EdmondsKarp", ekSum / count);
         }
+        if (dinicCount > 0) averages.put("Dinic", dinicSum / dinicCount);
+        if (prCount > 0) averages.put("PushRelabel", prSum / prCount);
         
         result.put("games", gamesList);
         result.put("averages", averages);
@@ -8,7 +8,9 @@ import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 
 @Service
@@ -20,8 +22,21 @@ public class TspService {
     // In-memory store for active game data (simplified for this project)
     private Map<String, TspGameData> activeGames = new ConcurrentHashMap<>();
 
+    // Solved selections of each game, keyed by selectionKey(). Weak keys, so a
+    // game's entries go with it once activeGames no longer holds the game.
+    // The first submission of a selection claims its future and solves it;
+    // concurrent ones wait for that result instead of solving again.
+    private final Map<TspGameData, Map<Long, CompletableFuture<SolvedTour>>> solvedSelections =
+            Collections.synchronizedMap(new WeakHashMap<>());
+
     private static final String[] CITIES = {"A", "B", "C", "D", "E", "F", "G", "H", "I", "J"};
 
+    // Large Euclidean benchmark defaults
+    private static final int DEFAULT_LARGE_CITIES = 1000;
+    private static final int DEFAULT_NEIGHBORS = 10;
+    private static final int DEFAULT_KICKS = 1000;
+    private static final int MAX_KICKS = 100_000;
+
     public TspGameData startGame(StartGameRequest request) {
         String gameId = UUID.randomUUID().toString();
         TspGameData data = new TspGameData();
@@ -34,26 +49,18 @@ public class TspService {
 
         // Generate Random Distances (Undirected, Complete Graph)
         // 50 to 100 km
-        Map<String, Map<String, Integer>> distances = new HashMap<>();
+        int n = CITIES.length;
+        int[] distances = new int[n * n];
         Random random = new Random();
 
-        for (String c1 : CITIES) {
-            distances.putIfAbsent(c1, new HashMap<>());
-            for (String c2 : CITIES) {
-                if (c1.equals(c2)) {
-                    distances.get(c1).put(c2, 0);
-                } else {
-                    int dist;
-                    if (distances.containsKey(c2) && distances.get(c2).containsKey(c1)) {
-                        dist = distances.get(c2).get(c1);
-                    } else {
-                        dist = 50 + random.nextInt(51); // 50-100 inclusive
-                    }
-                    distances.get(c1).put(c2, dist);
-                }
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                int dist = 50 + random.nextInt(51); // 50-100 inclusive
+                distances[i * n + j] = dist;
+                distances[j * n + i] = dist;
             }
         }
-        data.setDistances(distances);
+        data.setDistanceMatrix(CITIES, distances);
         activeGames.put(gameId, data);
         return data;
     }
@@ -99,72 +106,195 @@ public class TspService {
         userDist += getDistance(gameData, current, home); // Return execution
 
         // --- Run Algorithms ---
-        
-        // Nodes to involve: Home + nodesToVisit
-        List<String> problemNodes = new ArrayList<>(visitedOrder); 
-        // Note: The optimal order might be different from user order.
-        // We need to find optimal permutation of 'problemNodes'.
-        
-        // 1. Brute Force
-        long startBF = System.nanoTime();
-        PathResult bfResult = solveBruteForce(gameData, home, problemNodes);
-        long endBF = System.nanoTime();
-
-        // 2. Nearest Neighbor
-        long startNN = System.nanoTime();
-        PathResult nnResult = solveNearestNeighbor(gameData, home, problemNodes);
-        long endNN = System.nanoTime();
-
-        // 3. Dynamic Programming (Held-Karp)
-        long startDP = System.nanoTime();
-        PathResult dpResult = solveDP(gameData, home, problemNodes);
-        long endDP = System.nanoTime();
+        // The matrix is fixed for the game, so a selection solved before (in any
+        // order) is answered from the game's cache with its original timings.
+        // Only the attempt that actually ran the solvers stores them.
+        Map<Long, CompletableFuture<SolvedTour>> solvedForGame =
+                solvedSelections.computeIfAbsent(gameData, g -> new ConcurrentHashMap<>());
+        long key = selectionKey(cityIndex(gameData, home), selectionMask(gameData, visitedOrder));
+        CompletableFuture<SolvedTour> claim = new CompletableFuture<>();
+        CompletableFuture<SolvedTour> existing = solvedForGame.putIfAbsent(key, claim);
+        boolean cached = existing != null;
+        SolvedTour solved;
+        if (cached) {
+            solved = existing.join();
+        } else {
+            try {
+                solved = solveSelection(gameData, home, visitedOrder);
+            } catch (RuntimeException e) {
+                // Let a later submission try again
+                solvedForGame.remove(key, claim);
+                claim.completeExceptionally(e);
+                throw e;
+            }
+            claim.complete(solved);
+        }
+        Map<String, Long> times = solved.getAlgorithmTimes();
         
         // Prepare Result
         TspResult result = new TspResult();
         result.setUserDistance(userDist);
-        result.setMinDistance(bfResult.distance); // BF is exact
-        result.setOptimalPath(bfResult.path); // Full path: Home -> ... -> Home
+        result.setMinDistance(solved.getMinDistance());
+        result.setOptimalPath(solved.getOptimalPath()); // Full path: Home -> ... -> Home
+        result.setCached(cached);
         
         // Is Correct?
-        boolean isCorrect = userDist == bfResult.distance;
+        boolean isCorrect = userDist == solved.getMinDistance();
         result.setCorrect(isCorrect);
         result.setMessage(isCorrect 
             ? "Correct! You found the shortest path." 
-            : "Incorrect. optimal was " + bfResult.distance + "km vs yours " + userDist + "km.");
+            : "Incorrect. optimal was " + solved.getMinDistance() + "km vs yours " + userDist + "km.");
         
         // Save to DB - always save, but only include player name if correct
         TspGameResult entity = new TspGameResult();
         entity.setPlayerName(isCorrect ? gameData.getPlayerName() : null);
         entity.setHomeCity(home);
         entity.setSelectedCities(String.join(",", visitedOrder));
-        entity.setOptimalPath(String.join("->", bfResult.path));
-        entity.setMinDistance(bfResult.distance);
+        entity.setOptimalPath(String.join("->", solved.getOptimalPath()));
+        entity.setMinDistance(solved.getMinDistance());
         entity.setUserDistance(userDist);
         
-        entity.setBruteForceTimeNs(endBF - startBF);
-        entity.setNearestNeighborTimeNs(endNN - startNN);
-        entity.setDynamicProgrammingTimeNs(endDP - startDP);
+        if (!cached) {
+            entity.setBruteForceTimeNs(times.get("Brute Force"));
+            entity.setNearestNeighborTimeNs(times.get("Nearest Neighbor"));
+            entity.setDynamicProgrammingTimeNs(times.get("Dynamic Programming"));
+            entity.setBranchAndBoundTimeNs(times.get("Branch and Bound"));
+        }
         
         repository.save(entity);
         
-        Map<String, Long> times = new HashMap<>();
-        times.put("Brute Force", endBF - startBF);
-        times.put("Nearest Neighbor", endNN - startNN);
-        times.put("Dynamic Programming", endDP - startDP);
-        result.setAlgorithmTimes(times);
+        result.setAlgorithmTimes(new HashMap<>(times));
         
         Map<String, String> complexities = new HashMap<>();
         complexities.put("Brute Force", "O(N!)");
         complexities.put("Nearest Neighbor", "O(N^2)");
         complexities.put("Dynamic Programming", "O(N^2 * 2^N)");
+        complexities.put("Branch and Bound", "O(N!) worst case");
         result.setAlgorithmComplexities(complexities);
 
         return result;
     }
 
+    // Runs and times all four algorithms on one selection. Held-Karp is exact
+    // and reconstructs the tour; the others are benchmarks only.
+    private SolvedTour solveSelection(TspGameData gameData, String home, List<String> visitedOrder) {
+        // Nodes to involve: Home + nodesToVisit
+        List<String> problemNodes = new ArrayList<>(visitedOrder); 
+        // Note: The optimal order might be different from user order.
+        // We need to find optimal permutation of 'problemNodes'.
+        
+        // 1. Brute Force (benchmark only)
+        long startBF = System.nanoTime();
+        solveBruteForce(gameData, home, problemNodes);
+        long endBF = System.nanoTime();
+
+        // 2. Nearest Neighbor
+        long startNN = System.nanoTime();
+        solveNearestNeighbor(gameData, home, problemNodes);
+        long endNN = System.nanoTime();
+
+        // 3. Dynamic Programming (Held-Karp)
+        long startDP = System.nanoTime();
+        PathResult dpResult = solveDP(gameData, home, problemNodes);
+        long endDP = System.nanoTime();
+
+        // 4. Branch and Bound (benchmark only)
+        long startBB = System.nanoTime();
+        solveBranchAndBound(gameData, home, problemNodes);
+        long endBB = System.nanoTime();
+
+        Map<String, Long> times = new HashMap<>();
+        times.put("Brute Force", endBF - startBF);
+        times.put("Nearest Neighbor", endNN - startNN);
+        times.put("Dynamic Programming", endDP - startDP);
+        times.put("Branch and Bound", endBB - startBB);
+        return new SolvedTour(dpResult.distance, dpResult.path, times);
+    }
+
+    // Home index in the high word, a bitmask of the selected city indexes in the low word
+    private static long selectionKey(int home, long cityMask) {
+        return (long) home << 32 | cityMask;
+    }
+
+    // Bit i set for each selected city with game index i
+    private long selectionMask(TspGameData data, List<String> cities) {
+        long mask = 0;
+        for (String city : cities) mask |= 1L << cityIndex(data, city);
+        return mask;
+    }
+
+    // Large-instance mode: random Euclidean cities, nearest neighbour as the
+    // seed tour, then each local search run from that same seed and timed alone.
+    // Neighbour lists are shared preprocessing and timed separately.
+    public LargeTspResult solveLarge(LargeTspRequest request) {
+        int n = request.getCities() != null ? request.getCities() : DEFAULT_LARGE_CITIES;
+        int k = request.getNeighbors() != null ? request.getNeighbors() : DEFAULT_NEIGHBORS;
+        int kicks = request.getKicks() != null ? request.getKicks() : DEFAULT_KICKS;
+        long seed = request.getSeed() != null ? request.getSeed() : new Random().nextLong();
+        if (kicks < 0 || kicks > MAX_KICKS) {
+            throw new IllegalArgumentException("Kicks must be between 0 and " + MAX_KICKS);
+        }
+
+        long startNL = System.nanoTime();
+        EuclideanTsp inst = EuclideanTsp.random(n, k, seed);
+        long endNL = System.nanoTime();
+
+        Map<String, HeuristicRunDTO> runs = new LinkedHashMap<>();
+
+        long startNN = System.nanoTime();
+        int[] nnTour = inst.nearestNeighborTour();
+        long endNN = System.nanoTime();
+        runs.put("NearestNeighbor", new HeuristicRunDTO(inst.tourLength(nnTour), endNN - startNN));
+
+        long start2 = System.nanoTime();
+        long twoOpt = new TourLocalSearch(inst, nnTour).twoOpt();
+        long end2 = System.nanoTime();
+        runs.put("TwoOpt", new HeuristicRunDTO(twoOpt, end2 - start2));
+
+        long startOr = System.nanoTime();
+        long orOpt = new TourLocalSearch(inst, nnTour).orOpt();
+        long endOr = System.nanoTime();
+        runs.put("OrOpt", new HeuristicRunDTO(orOpt, endOr - startOr));
+
+        long startCh = System.nanoTime();
+        long chained = new TourLocalSearch(inst, nnTour).chained(kicks, seed);
+        long endCh = System.nanoTime();
+        runs.put("ChainedOrOpt", new HeuristicRunDTO(chained, endCh - startCh));
+
+        LargeTspResult result = new LargeTspResult();
+        // Exact optimum where Held-Karp fits: the full tour, or past that the lean cost-only pass
+        if (n <= HeldKarp.MAX_COST_CITIES) {
+            int[][] dist = inst.matrix();
+            long startDP = System.nanoTime();
+            long optimal = n <= HeldKarp.MAX_TOUR_CITIES
+                    ? tourCost(dist, HeldKarp.tour(dist, ForkJoinPool.commonPool()))
+                    : HeldKarp.cost(dist, ForkJoinPool.commonPool());
+            long endDP = System.nanoTime();
+            runs.put("HeldKarp", new HeuristicRunDTO(optimal, endDP - startDP));
+            for (HeuristicRunDTO run : runs.values()) {
+                run.setGapPercent(optimal == 0 ? 0.0 : 100.0 * (run.getLength() - optimal) / optimal);
+            }
+            result.setOptimalLength(optimal);
+        }
+
+        result.setCities(n);
+        result.setSeed(seed);
+        result.setNeighbors(k);
+        result.setNeighborListTimeNs(endNL - startNL);
+        result.setRuns(runs);
+        return result;
+    }
+
     private int getDistance(TspGameData data, String c1, String c2) {
-        return data.getDistances().get(c1).get(c2);
+        return data.distance(cityIndex(data, c1), cityIndex(data, c2));
+    }
+
+    private int cityIndex(TspGameData data, String city) {
+        int i = data.indexOf(city);
+        if (i < 0) {
+            throw new IllegalArgumentException("Unknown city: " + city);
+        }
+        return i;
     }
     
     // --- Solvers ---
@@ -176,143 +306,209 @@ public class TspService {
         public PathResult(List<String> path, int distance) { this.path = path; this.distance = distance; }
     }
 
+    // Node list for a solve: Home at index 0, then the cities to visit
+    private List<String> problemNodes(String home, List<String> citiesToVisit) {
+        List<String> allNodes = new ArrayList<>();
+        allNodes.add(home);
+        allNodes.addAll(citiesToVisit);
+        return allNodes;
+    }
+
+    // dist[i][j] between problem nodes, copied out of the game's flat matrix
+    private int[][] distanceMatrix(TspGameData data, List<String> allNodes) {
+        int n = allNodes.size();
+        int[] index = new int[n];
+        for (int i = 0; i < n; i++) index[i] = cityIndex(data, allNodes.get(i));
+        int[][] dist = new int[n][n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                dist[i][j] = data.distance(index[i], index[j]);
+            }
+        }
+        return dist;
+    }
+
+    // Full tour as city names: Home -> order... -> Home
+    private List<String> tourPath(List<String> allNodes, int[] order) {
+        List<String> path = new ArrayList<>(order.length + 2);
+        path.add(allNodes.get(0));
+        for (int city : order) path.add(allNodes.get(city));
+        path.add(allNodes.get(0));
+        return path;
+    }
+
     // 1. Brute Force (Permutations)
+    // Heap's algorithm permutes an int[] of city indexes in place, one swap per
+    // permutation, so memory is O(N) however many tours are checked.
     private PathResult solveBruteForce(TspGameData data, String home, List<String> citiesToVisit) {
-        List<List<String>> perms = generatePermutations(citiesToVisit);
-        int minCost = Integer.MAX_VALUE;
-        List<String> bestPath = null;
-        
-        for (List<String> p : perms) {
-            int currentCost = 0;
-            String current = home;
-            
-            List<String> currentPathFull = new ArrayList<>();
-            currentPathFull.add(home);
-            
-            for (String next : p) {
-                currentCost += getDistance(data, current, next);
-                currentPathFull.add(next);
-                current = next;
+        return solveBruteForce(data, home, citiesToVisit, false);
+    }
+
+    // With prune set, tours are built city by city and a branch is dropped once its
+    // cost plus the cheapest way into every remaining city can't beat the best tour.
+    private PathResult solveBruteForce(TspGameData data, String home, List<String> citiesToVisit, boolean prune) {
+        List<String> allNodes = problemNodes(home, citiesToVisit);
+        PermutationSearch search = new PermutationSearch(distanceMatrix(data, allNodes));
+        if (prune) search.branchAndBound();
+        else search.enumerate();
+        return new PathResult(tourPath(allNodes, search.bestOrder), search.bestCost);
+    }
+
+    private static final class PermutationSearch {
+        private final int[][] dist;
+        private final int m;          // cities besides Home (index 0)
+        private final int[] order;    // current permutation of 1..m
+        private final int[] bestOrder;
+        private int bestCost = Integer.MAX_VALUE;
+
+        PermutationSearch(int[][] dist) {
+            this.dist = dist;
+            this.m = dist.length - 1;
+            this.order = new int[m];
+            for (int i = 0; i < m; i++) order[i] = i + 1;
+            this.bestOrder = order.clone();
+        }
+
+        // Heap's algorithm, iterative form
+        void enumerate() {
+            if (m == 0) {
+                bestCost = 0;
+                return;
             }
-            currentCost += getDistance(data, current, home);
-            currentPathFull.add(home);
-            
-            if (currentCost < minCost) {
-                minCost = currentCost;
-                bestPath = new ArrayList<>(currentPathFull);
+            int[] c = new int[m];
+            evaluate();
+            int i = 1;
+            while (i < m) {
+                if (c[i] < i) {
+                    swap(i % 2 == 0 ? 0 : c[i], i);
+                    evaluate();
+                    c[i]++;
+                    i = 1;
+                } else {
+                    c[i] = 0;
+                    i++;
+                }
             }
         }
-        return new PathResult(bestPath, minCost);
-    }
 
-    private List<List<String>> generatePermutations(List<String> original) {
-        if (original.isEmpty()) {
-            List<List<String>> result = new ArrayList<>();
-            result.add(new ArrayList<>());
-            return result;
+        void branchAndBound() {
+            if (m == 0) {
+                bestCost = 0;
+                return;
+            }
+            // minIn[c]: cheapest edge into c, used as a lower bound for each city still to enter
+            int[] minIn = new int[m + 1];
+            int bound = 0;
+            for (int c = 0; c <= m; c++) {
+                minIn[c] = Integer.MAX_VALUE;
+                for (int j = 0; j <= m; j++) {
+                    if (j != c) minIn[c] = Math.min(minIn[c], dist[j][c]);
+                }
+                bound += minIn[c];
+            }
+            branch(0, 0, 0, bound, minIn);
         }
-        String first = original.get(0);
-        List<List<String>> rest = generatePermutations(original.subList(1, original.size()));
-        List<List<String>> all = new ArrayList<>();
-        
-        for (List<String> p : rest) {
-            for (int i = 0; i <= p.size(); i++) {
-                List<String> temp = new ArrayList<>(p);
-                temp.add(i, first);
-                all.add(temp);
+
+        // order[0..depth) is fixed and ends at 'last'; bound counts minIn of Home and every unplaced city
+        private void branch(int depth, int last, int cost, int bound, int[] minIn) {
+            if (depth == m) {
+                int total = cost + dist[last][0];
+                if (total < bestCost) {
+                    bestCost = total;
+                    System.arraycopy(order, 0, bestOrder, 0, m);
+                }
+                return;
+            }
+            for (int i = depth; i < m; i++) {
+                swap(depth, i);
+                int city = order[depth];
+                int nextCost = cost + dist[last][city];
+                int nextBound = bound - minIn[city];
+                if (nextCost + nextBound < bestCost) {
+                    branch(depth + 1, city, nextCost, nextBound, minIn);
+                }
+                swap(depth, i);
             }
         }
-        return all;
+
+        private void evaluate() {
+            int cost = dist[0][order[0]];
+            for (int k = 1; k < m; k++) cost += dist[order[k - 1]][order[k]];
+            cost += dist[order[m - 1]][0];
+            if (cost < bestCost) {
+                bestCost = cost;
+                System.arraycopy(order, 0, bestOrder, 0, m);
+            }
+        }
+
+        private void swap(int i, int j) {
+            int tmp = order[i];
+            order[i] = order[j];
+            order[j] = tmp;
+        }
     }
 
     // 2. Nearest Neighbor
     private PathResult solveNearestNeighbor(TspGameData data, String home, List<String> citiesToVisit) {
-        List<String> unvisited = new ArrayList<>(citiesToVisit);
-        List<String> path = new ArrayList<>();
-        path.add(home);
+        List<String> allNodes = problemNodes(home, citiesToVisit);
+        int[][] dist = distanceMatrix(data, allNodes);
+        int[] order = nearestNeighborOrder(dist);
+        return new PathResult(tourPath(allNodes, order), tourCost(dist, order));
+    }
+
+    // Greedy order of nodes 1..m from Home (node 0)
+    private static int[] nearestNeighborOrder(int[][] dist) {
+        int m = dist.length - 1;
+        int[] order = new int[m];
+        boolean[] visited = new boolean[m + 1];
         
-        String current = home;
-        int totalDist = 0;
+        int current = 0; // Home
         
-        while (!unvisited.isEmpty()) {
-            String nearest = null;
+        for (int step = 0; step < m; step++) {
+            int nearest = -1;
             int minDist = Integer.MAX_VALUE;
             
-            for (String cand : unvisited) {
-                int d = getDistance(data, current, cand);
-                if (d < minDist) {
-                    minDist = d;
+            for (int cand = 1; cand <= m; cand++) {
+                if (!visited[cand] && dist[current][cand] < minDist) {
+                    minDist = dist[current][cand];
                     nearest = cand;
                 }
             }
             
-            totalDist += minDist;
             current = nearest;
-            path.add(current);
-            unvisited.remove(current);
+            visited[current] = true;
+            order[step] = current;
         }
-        
-        // Return to home
-        totalDist += getDistance(data, current, home);
-        path.add(home);
-        
-        return new PathResult(path, totalDist);
+        return order;
     }
 
-    // 3. DP (Held-Karp) - Simplified for robustness since N is small
-    // Map<Mask, Map<LastCity, MinCost>>
+    // 3. DP (Held-Karp) with parent pointers, the authoritative optimal tour;
+    // each subset-size layer is filled in parallel on the common pool
     private PathResult solveDP(TspGameData data, String home, List<String> citiesToVisit) {
-        // Need mapping string -> int index
-        List<String> allNodes = new ArrayList<>();
-        allNodes.add(home);
-        allNodes.addAll(citiesToVisit);
-        int n = allNodes.size();
-        
-        // distances[i][j]
-        int[][] dist = new int[n][n];
-        for(int i=0; i<n; i++) {
-            for(int j=0; j<n; j++) {
-                dist[i][j] = getDistance(data, allNodes.get(i), allNodes.get(j));
-            }
-        }
-        
-        // dp[mask][last] = min cost to visit set 'mask' ending at city 'last'
-        // mask is bitmask of visited cities. Home is index 0.
-        int[][] dp = new int[1 << n][n];
-        for (int[] row : dp) Arrays.fill(row, Integer.MAX_VALUE / 2);
-        
-        dp[1][0] = 0; // Visited {Home}, ending at Home. Cost 0.
-        
-        for (int mask = 1; mask < (1 << n); mask += 2) { // mask always includes bit 0 (Home)
-            for (int prev = 0; prev < n; prev++) {
-                if ((mask & (1 << prev)) != 0 && dp[mask][prev] < Integer.MAX_VALUE / 2) {
-                    // Try to go to 'next'
-                    for (int next = 1; next < n; next++) { // next != 0
-                        if ((mask & (1 << next)) == 0) {
-                            int newMask = mask | (1 << next);
-                            dp[newMask][next] = Math.min(dp[newMask][next], dp[mask][prev] + dist[prev][next]);
-                        }
-                    }
-                }
-            }
-        }
-        
-        // Final step: return to home from all possible last nodes in full mask
-        int fullMask = (1 << n) - 1;
-        int minCost = Integer.MAX_VALUE;
-        // Reconstruct path excluded for brevity, just getting cost? 
-        // Or if we need path, we need parent pointers. 
-        // For game purposes, BruteForce path is sufficient for display. 
-        // DP is mostly for timing comparison.
-        
-        for (int i = 1; i < n; i++) {
-            minCost = Math.min(minCost, dp[fullMask][i] + dist[i][0]);
+        List<String> allNodes = problemNodes(home, citiesToVisit);
+        int[][] dist = distanceMatrix(data, allNodes);
+        int[] order = HeldKarp.tour(dist, ForkJoinPool.commonPool());
+        return new PathResult(tourPath(allNodes, order), tourCost(dist, order));
+    }
+
+    private static int tourCost(int[][] dist, int[] order) {
+        int cost = 0;
+        int current = 0;
+        for (int next : order) {
+            cost += dist[current][next];
+            current = next;
         }
-        
-        // Return Empty path with correct cost, since we rely on BF for exact path display
-        return new PathResult(new ArrayList<>(), minCost);
+        return cost + dist[current][0];
     }
-    
+
+    // 4. Parallel branch-and-bound, seeded with the nearest-neighbour tour
+    private PathResult solveBranchAndBound(TspGameData data, String home, List<String> citiesToVisit) {
+        List<String> allNodes = problemNodes(home, citiesToVisit);
+        int[][] dist = distanceMatrix(data, allNodes);
+        int[] order = ParallelBranchAndBound.solve(dist, nearestNeighborOrder(dist), ForkJoinPool.commonPool());
+        return new PathResult(tourPath(allNodes, order), tourCost(dist, order));
+    }
+
     public Map<String, Object> getComparisonData() {
         List<TspGameResult> games = repository.findTop15ByOrderByCreatedAtDesc();
         
@@ -322,9 +518,14 @@ public class TspService {
         long bfSum = 0;
         long nnSum = 0;
         long dpSum = 0;
-        int count = games.size();
+        long bbSum = 0;
+        int count = 0;
+        int bbCount = 0; // games saved before branch-and-bound have no time for it
         
         for (TspGameResult game : games) {
+            // Cached repeats carry no timings of their own
+            if (game.getBruteForceTimeNs() == null) continue;
+            count++;
             Map<String, Object> gameData = new HashMap<>();
             gameData.put("gameId", game.getId());
             gameData.put("playerName", game.getPlayerName());
@@ -334,6 +535,11 @@ public class TspService {
             algorithmTimes.put("BruteForce", game.getBruteForceTimeNs());
             algorithmTimes.put("NearestNeighbor", game.getNearestNeighborTimeNs());
             algorithmTimes.put("DynamicProgramming", game.getDynamicProgrammingTimeNs());
+            if (game.getBranchAndBoundTimeNs() != null) {
+                algorithmTimes.put("BranchAndBound", game.getBranchAndBoundTimeNs());
+                bbSum += game.getBranchAndBoundTimeNs();
+                bbCount++;
+            }
             gameData.put("algorithmTimes", algorithmTimes);
             
             gamesList.add(gameData);
@@ -348,6 +554,9 @@ public class TspService {
             averages.put("NearestNeighbor", nnSum / count);
             averages.put("DynamicProgramming", dpSum / count);
         }
+        if (bbCount > 0) {
+            averages.put("BranchAndBound", bbSum / bbCount);
+        }
         
         result.put("games", gamesList);
         result.put("averages", averages);
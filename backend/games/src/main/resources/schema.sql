@@ -25,6 +25,8 @@ CREATE TABLE IF NOT EXISTS traffic_results (
     user_guess INT NOT NULL,        -- Player's guess
     ford_fulkerson_time BIGINT,     -- Ford-Fulkerson algorithm time (microseconds)
     edmonds_karp_time BIGINT,       -- Edmonds-Karp algorithm time (microseconds)
+    dinic_time BIGINT,              -- Dinic algorithm time (microseconds)
+    push_relabel_time BIGINT,       -- Push-Relabel algorithm time (microseconds)
     created_at DATETIME DEFAULT CURRENT_TIMESTAMP
 );
 
@@ -42,6 +44,7 @@ CREATE TABLE IF NOT EXISTS tsp_results (
     brute_force_time_ns BIGINT,     -- Brute Force time (nanoseconds)
     nearest_neighbor_time_ns BIGINT,-- Nearest Neighbor time (nanoseconds)
     dynamic_programming_time_ns BIGINT, -- DP (Held-Karp) time (nanoseconds)
+    branch_and_bound_time_ns BIGINT,    -- Branch and Bound time (nanoseconds)
     created_at DATETIME DEFAULT CURRENT_TIMESTAMP
 );
 
@@ -51,8 +54,8 @@ CREATE TABLE IF NOT EXISTS tsp_results (
 CREATE TABLE IF NOT EXISTS hanoi_results (
     id BIGINT AUTO_INCREMENT PRIMARY KEY,
     player_name VARCHAR(255),
-    num_disks INT NOT NULL,         -- Number of disks (5-10)
-    num_pegs INT NOT NULL,          -- Number of pegs (3 or 4)
+    num_disks INT NOT NULL,         -- Number of disks (5-10 unless chosen)
+    num_pegs INT NOT NULL,          -- Number of pegs (3-10)
     user_min_moves INT NOT NULL,    -- User's estimated moves
     user_sequence TEXT,             -- User's move sequence
     optimal_min_moves INT NOT NULL, -- Correct minimum moves
@@ -60,6 +63,8 @@ CREATE TABLE IF NOT EXISTS hanoi_results (
     algo1_time BIGINT,              -- Algorithm 1 time (microseconds)
     algo2_name VARCHAR(50),         -- Algorithm 2 name (Iterative/BFS)
     algo2_time BIGINT,              -- Algorithm 2 time (microseconds)
+    algo3_time BIGINT,              -- Bidirectional BFS time, 4 pegs only (microseconds)
+    algo4_time BIGINT,              -- Parallel BFS time, 4 pegs only (microseconds)
     created_at DATETIME DEFAULT CURRENT_TIMESTAMP
 );
 
@@ -80,5 +85,7 @@ CREATE TABLE IF NOT EXISTS eight_queens_stats (
     id BIGINT AUTO_INCREMENT PRIMARY KEY,
     sequential_time_ns BIGINT,      -- Sequential backtracking time (nanoseconds)
     threaded_time_ns BIGINT,        -- Threaded backtracking time (nanoseconds)
+    bitmask_time_ns BIGINT,         -- Bitmask backtracking time (nanoseconds)
+    symmetric_time_ns BIGINT,       -- Symmetry-reduced backtracking time (nanoseconds)
     run_at DATETIME DEFAULT CURRENT_TIMESTAMP
 );
@@ -1,11 +1,21 @@
 package com.example.games.service;
 
+import com.example.games.dto.EightQueensDTOs.StatsResponse;
+import com.example.games.dto.EightQueensDTOs.SubmitRequest;
+import com.example.games.dto.EightQueensDTOs.SubmitResponse;
+import com.example.games.entity.EightQueensStats;
+import com.example.games.repository.EightQueensStatsRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 
+import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -20,7 +30,7 @@ class EightQueensServiceTest {
     private Method solveSequentialMethod;
     private Method solveThreadedMethod;
     private Method isSafeMethod;
-    private Method isValidPlacementMethod;
+    private Method solutionIndexMethod;
     private Method toCanonicalStringMethod;
 
     @BeforeEach
@@ -37,10 +47,10 @@ class EightQueensServiceTest {
         isSafeMethod = EightQueensService.class.getDeclaredMethod("isSafe", int.class, int.class, int[].class);
         isSafeMethod.setAccessible(true);
         
-        isValidPlacementMethod = EightQueensService.class.getDeclaredMethod("isValidPlacement", List.class);
-        isValidPlacementMethod.setAccessible(true);
+        solutionIndexMethod = EightQueensService.class.getDeclaredMethod("solutionIndex", List.class);
+        solutionIndexMethod.setAccessible(true);
         
-        toCanonicalStringMethod = EightQueensService.class.getDeclaredMethod("toCanonicalString", List.class);
+        toCanonicalStringMethod = EightQueensService.class.getDeclaredMethod("toCanonicalString", int[].class);
         toCanonicalStringMethod.setAccessible(true);
     }
 
@@ -62,7 +72,7 @@ class EightQueensServiceTest {
         List<List<Integer>> solutions = (List<List<Integer>>) solveSequentialMethod.invoke(service);
         
         for (List<Integer> solution : solutions) {
-            boolean isValid = (boolean) isValidPlacementMethod.invoke(service, solution);
+            boolean isValid = isValidPlacement(solution);
             assertTrue(isValid, "Each solution should be a valid 8-Queens placement");
         }
     }
@@ -111,7 +121,7 @@ class EightQueensServiceTest {
         List<List<Integer>> solutions = (List<List<Integer>>) solveThreadedMethod.invoke(service);
         
         for (List<Integer> solution : solutions) {
-            boolean isValid = (boolean) isValidPlacementMethod.invoke(service, solution);
+            boolean isValid = isValidPlacement(solution);
             assertTrue(isValid, "Each solution should be a valid 8-Queens placement");
         }
     }
@@ -152,45 +162,374 @@ class EightQueensServiceTest {
         assertEquals(seqSet, threadSet, "Both algorithms should find same solutions");
     }
 
+    // ==================== Bitmask Backtracking Tests ====================
+
+    @Test
+    @DisplayName("Bitmask: Should find exactly 92 solutions")
+    void testBitmask_FindsAllSolutions() {
+        long[] solutions = service.solveBitmask();
+
+        assertEquals(92, solutions.length, "There are exactly 92 solutions to 8-Queens");
+    }
+
+    @Test
+    @DisplayName("Bitmask and Sequential should find same solutions")
+    @SuppressWarnings("unchecked")
+    void testBitmask_Sequential_Consistency() throws Exception {
+        List<List<Integer>> seqSolutions = (List<List<Integer>>) solveSequentialMethod.invoke(service);
+        Set<String> seqSet = new HashSet<>();
+        for (List<Integer> sol : seqSolutions) seqSet.add(sol.toString());
+
+        Set<String> bitmaskSet = new HashSet<>();
+        for (long packed : service.solveBitmask()) {
+            bitmaskSet.add(Arrays.toString(NQueensBitboard.unpack(packed, 8)));
+        }
+
+        assertEquals(seqSet, bitmaskSet, "Both algorithms should find same solutions");
+    }
+
+    @Test
+    @DisplayName("Bitmask: Known solution counts for other board sizes")
+    void testBitmask_KnownCounts() {
+        long[] expected = {1, 0, 0, 2, 10, 4, 40, 92, 352, 724};
+        for (int n = 1; n <= expected.length; n++) {
+            assertEquals(expected[n - 1], NQueensBitboard.solve(n, null), "Solution count for N=" + n);
+        }
+    }
+
+    // ==================== N-Queens Tests ====================
+
+    @Test
+    @DisplayName("N-Queens: All solvers agree on counts for N=1..10")
+    void testNQueens_CountsAgree() {
+        for (int n = 1; n <= 10; n++) {
+            long bitmask = service.countBitmask(n);
+            assertEquals(bitmask, service.countSequential(n), "Sequential count for N=" + n);
+            assertEquals(bitmask, service.countThreaded(n), "Threaded count for N=" + n);
+            assertEquals(bitmask, service.solveSequential(n).size(), "Sequential solutions for N=" + n);
+        }
+    }
+
+    @Test
+    @DisplayName("N-Queens: Benchmark reports engine-computed solution count")
+    void testNQueens_Benchmark() {
+        var response = service.runBenchmark(10);
+
+        assertEquals(10, response.getBoardSize());
+        assertEquals(724, response.getSolutionCount(), "There are 724 solutions to 10-Queens");
+        assertTrue(response.getAlgorithmTimes().containsKey("Bitmask"));
+    }
+
+    @Test
+    @DisplayName("N-Queens: Benchmark rejects out-of-range board sizes")
+    void testNQueens_BenchmarkRejectsBadSize() {
+        assertThrows(IllegalArgumentException.class, () -> service.runBenchmark(0));
+        assertThrows(IllegalArgumentException.class, () -> service.runBenchmark(EightQueensService.MAX_BOARD_SIZE + 1));
+        assertThrows(IllegalArgumentException.class, () -> service.runBenchmarkAsync(EightQueensService.MAX_BOARD_SIZE + 1));
+    }
+
+    @Test
+    @DisplayName("N-Queens: Async benchmark completes with the engine-computed count")
+    void testNQueens_BenchmarkAsync() throws Exception {
+        var response = service.runBenchmarkAsync(10).get(30, TimeUnit.SECONDS);
+
+        assertEquals(10, response.getBoardSize());
+        assertEquals(724, response.getSolutionCount());
+        assertEquals(Set.of("Sequential", "Threaded", "Bitmask", "Symmetry"), response.getAlgorithmTimes().keySet());
+    }
+
+    @Test
+    @DisplayName("N-Queens: Sequential and threaded solvers reject boards above their cap")
+    void testNQueens_BacktrackingCap() {
+        int tooBig = EightQueensService.MAX_BACKTRACKING_SIZE + 1;
+        assertThrows(IllegalArgumentException.class, () -> service.countSequential(tooBig));
+        assertThrows(IllegalArgumentException.class, () -> service.countThreaded(tooBig));
+        assertThrows(IllegalArgumentException.class, () -> service.solveSequential(tooBig));
+        assertThrows(IllegalArgumentException.class, () -> service.solveThreaded(tooBig));
+
+        // Larger benchmarks run only the bitmask and symmetry solvers
+        var response = service.runBenchmark(tooBig);
+        assertEquals(2279184, response.getSolutionCount(), "There are 2,279,184 solutions to 15-Queens");
+        assertEquals(Set.of("Bitmask", "Symmetry"), response.getAlgorithmTimes().keySet());
+    }
+
+    @Test
+    @DisplayName("Fork/join: Counts match the bitmask engine for every split depth")
+    void testForkJoin_SplitDepths() {
+        for (int depth = 0; depth <= 6; depth++) {
+            for (int n = 1; n <= 11; n++) {
+                assertEquals(NQueensBitboard.solve(n, null),
+                        NQueensForkJoinSolver.count(n, depth, ForkJoinPool.commonPool()),
+                        "Fork/join count for N=" + n + ", depth=" + depth);
+            }
+        }
+    }
+
+    // ==================== Symmetry Reduction Tests ====================
+
+    @Test
+    @DisplayName("Symmetry: 8-Queens has 12 fundamental solutions")
+    void testSymmetry_FundamentalCount() {
+        assertEquals(12, NQueensSymmetry.fundamentals(8).length, "There are 12 fundamental 8-Queens solutions");
+    }
+
+    @Test
+    @DisplayName("Symmetry: Expanded solutions match the full search")
+    void testSymmetry_ExpandsToAllSolutions() {
+        for (int n = 1; n <= 10; n++) {
+            long[] expected = service.solveBitmask(n);
+            long[] expanded = service.solveSymmetric(n);
+            Arrays.sort(expected);
+            Arrays.sort(expanded);
+            assertArrayEquals(expected, expanded, "Expanded solutions for N=" + n);
+            assertEquals(expected.length, service.countSymmetric(n), "Class-based count for N=" + n);
+        }
+    }
+
+    @Test
+    @DisplayName("Symmetry: Symmetric boards share a fundamental class")
+    void testSymmetry_ClassIndex() {
+        long[] fundamentals = NQueensSymmetry.fundamentals(8);
+        int[] board = {0, 4, 7, 5, 2, 6, 1, 3};
+        int[] mirrored = new int[8];
+        for (int r = 0; r < 8; r++) mirrored[r] = 7 - board[r];
+
+        int classIndex = NQueensSymmetry.classIndex(board, fundamentals);
+        assertTrue(classIndex >= 0, "A valid board belongs to a class");
+        assertEquals(classIndex, NQueensSymmetry.classIndex(mirrored, fundamentals), "Mirror image is in the same class");
+        assertEquals(-1, NQueensSymmetry.classIndex(new int[]{0, 1, 2, 3, 4, 5, 6, 7}, fundamentals));
+    }
+
+    // ==================== Background Benchmark Tests ====================
+
+    @Test
+    @DisplayName("Background sample records timings for every solver without touching the DB")
+    void testSampleSolverTimings() throws Exception {
+        service.sampleSolverTimings();
+
+        Field latestField = EightQueensService.class.getDeclaredField("latestStats");
+        latestField.setAccessible(true);
+        EightQueensStats stats = (EightQueensStats) latestField.get(service);
+
+        assertNotNull(stats, "A sample should be kept in memory");
+        assertNotNull(stats.getSequentialTimeNs());
+        assertNotNull(stats.getThreadedTimeNs());
+        assertNotNull(stats.getBitmaskTimeNs());
+        assertNotNull(stats.getSymmetricTimeNs());
+    }
+
+    @Test
+    @DisplayName("Stats: empty table while another sample is running waits for that sample")
+    void testGetStats_SampleInFlight() throws Exception {
+        useEmptyStatsRepository();
+        CompletableFuture<EightQueensStats> sample = new CompletableFuture<>();
+        sampleInFlight().set(sample);
+
+        ExecutorService caller = Executors.newSingleThreadExecutor();
+        try {
+            Future<StatsResponse> response = caller.submit(service::getStats);
+            Thread.sleep(50);
+            assertFalse(response.isDone(), "The request waits for the running sample");
+
+            EightQueensStats stats = new EightQueensStats();
+            stats.setSequentialTimeNs(1L);
+            stats.setThreadedTimeNs(2L);
+            stats.setBitmaskTimeNs(3L);
+            stats.setSymmetricTimeNs(4L);
+            sample.complete(stats);
+
+            StatsResponse result = response.get(5, TimeUnit.SECONDS);
+            assertEquals(1, result.getSequentialTimeNs(), "Timings come from the running sample, not a second run");
+            assertEquals(2, result.getThreadedTimeNs());
+            assertEquals(3, result.getBitmaskTimeNs());
+            assertEquals(4, result.getSymmetricTimeNs());
+            assertEquals(92, result.getTotalSolutionsFound());
+        } finally {
+            caller.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Stats: with nothing sampled yet, a sample runs on the benchmark thread")
+    void testGetStats_ColdStartSamplesInBackground() throws Exception {
+        useEmptyStatsRepository();
+
+        StatsResponse stats = service.getStats();
+
+        assertTrue(stats.getSequentialTimeNs() > 0);
+        assertTrue(stats.getThreadedTimeNs() > 0);
+        assertTrue(stats.getBitmaskTimeNs() > 0);
+        assertNull(sampleInFlight().get(), "The sample is finished");
+        Field latestField = EightQueensService.class.getDeclaredField("latestStats");
+        latestField.setAccessible(true);
+        assertNotNull(latestField.get(service), "The sample is kept for later requests");
+    }
+
+    @Test
+    @DisplayName("Stats: a sample that takes too long gives pending (zero) timings")
+    void testGetStats_SamplePending() throws Exception {
+        useEmptyStatsRepository();
+        Field wait = EightQueensService.class.getDeclaredField("statsWaitMs");
+        wait.setAccessible(true);
+        wait.setLong(service, 20);
+        sampleInFlight().set(new CompletableFuture<>());
+
+        StatsResponse stats = service.getStats();
+
+        assertEquals(0, stats.getSequentialTimeNs());
+        assertEquals(0, stats.getBitmaskTimeNs());
+        assertEquals(92, stats.getTotalSolutionsFound());
+    }
+
+    // Stats repository with no rows stored yet
+    private void useEmptyStatsRepository() throws Exception {
+        Field repoField = EightQueensService.class.getDeclaredField("statsRepository");
+        repoField.setAccessible(true);
+        repoField.set(service, Proxy.newProxyInstance(
+            EightQueensStatsRepository.class.getClassLoader(), new Class<?>[]{EightQueensStatsRepository.class},
+            (proxy, method, args) -> {
+                if (method.getName().equals("findTopByOrderByRunAtDesc")) return null;
+                throw new UnsupportedOperationException(method.getName());
+            }));
+    }
+
+    @SuppressWarnings("unchecked")
+    private AtomicReference<CompletableFuture<EightQueensStats>> sampleInFlight() throws Exception {
+        Field field = EightQueensService.class.getDeclaredField("sampleInFlight");
+        field.setAccessible(true);
+        return (AtomicReference<CompletableFuture<EightQueensStats>>) field.get(service);
+    }
+
+    // ==================== Discovery Tests ====================
+
+    @Test
+    @DisplayName("Discovery: Second submission of the same board is not unique")
+    void testSubmit_UniquenessInMemory() {
+        SubmitResponse first = service.submitSolution(submitRequest("Alice", Arrays.asList(0, 4, 7, 5, 2, 6, 1, 3)));
+        SubmitResponse second = service.submitSolution(submitRequest("Bob", Arrays.asList(0, 4, 7, 5, 2, 6, 1, 3)));
+
+        assertTrue(first.isValid());
+        assertTrue(first.isUnique());
+        assertEquals(1, first.getTotalDiscovered());
+        assertFalse(second.isUnique());
+        assertEquals(1, second.getTotalDiscovered());
+        assertTrue(second.getMessage().contains("Alice"), "Should name the original discoverer");
+    }
+
+    @Test
+    @DisplayName("Discovery: Invalid board is rejected")
+    void testSubmit_InvalidBoard() {
+        SubmitResponse res = service.submitSolution(submitRequest("Alice", Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7)));
+
+        assertFalse(res.isValid());
+    }
+
+    @Test
+    @DisplayName("Discovery: Finding all 92 solutions resets the board")
+    @SuppressWarnings("unchecked")
+    void testSubmit_FinalSolutionResets() throws Exception {
+        List<List<Integer>> solutions = (List<List<Integer>>) solveSequentialMethod.invoke(service);
+        SubmitResponse last = null;
+        for (List<Integer> sol : solutions) {
+            last = service.submitSolution(submitRequest("Alice", sol));
+            assertTrue(last.isUnique());
+        }
+
+        assertEquals(92, last.getTotalDiscovered());
+        assertTrue(last.getMessage().startsWith("CONGRATULATIONS"));
+        assertTrue(service.submitSolution(submitRequest("Bob", solutions.get(0))).isUnique(),
+                "After the reset every solution can be discovered again");
+    }
+
+    @Test
+    @DisplayName("Discovery: Concurrent submitters never double-count or lose discoveries")
+    @SuppressWarnings("unchecked")
+    void testSubmit_ConcurrentDiscoveriesConsistent() throws Exception {
+        List<List<Integer>> solutions = (List<List<Integer>>) solveSequentialMethod.invoke(service);
+        int threads = 8;
+        AtomicInteger uniqueCount = new AtomicInteger();
+        AtomicInteger completedCount = new AtomicInteger();
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            final long seed = t;
+            futures.add(pool.submit(() -> {
+                List<List<Integer>> order = new ArrayList<>(solutions);
+                Collections.shuffle(order, new Random(seed));
+                for (List<Integer> sol : order) {
+                    SubmitResponse res = service.submitSolution(submitRequest("Player" + seed, sol));
+                    if (res.isUnique()) uniqueCount.incrementAndGet();
+                    if (res.getMessage().startsWith("CONGRATULATIONS")) completedCount.incrementAndGet();
+                }
+            }));
+        }
+        for (Future<?> f : futures) f.get();
+        pool.shutdown();
+
+        Field registryField = EightQueensService.class.getDeclaredField("registry");
+        registryField.setAccessible(true);
+        int remaining = ((DiscoveryRegistry) registryField.get(service)).count();
+        assertEquals(uniqueCount.get(), completedCount.get() * 92 + remaining,
+                "Every unique discovery is either part of a completed board or still on the current one");
+    }
+
     // ==================== isValidPlacement Tests ====================
 
     @Test
     @DisplayName("Valid placement: Known correct solution")
     void testIsValidPlacement_ValidSolution() throws Exception {
         List<Integer> valid = Arrays.asList(0, 4, 7, 5, 2, 6, 1, 3);
-        boolean isValid = (boolean) isValidPlacementMethod.invoke(service, valid);
+        boolean isValid = isValidPlacement(valid);
         assertTrue(isValid, "Known valid solution should be valid");
+        assertEquals(isValid, isKnownSolution(valid), "Solution lookup should agree with the pairwise check");
     }
 
     @Test
     @DisplayName("Invalid placement: Queens in same column")
     void testIsValidPlacement_SameColumn() throws Exception {
         List<Integer> invalid = Arrays.asList(0, 0, 7, 5, 2, 6, 1, 3);
-        boolean isValid = (boolean) isValidPlacementMethod.invoke(service, invalid);
+        boolean isValid = isValidPlacement(invalid);
         assertFalse(isValid, "Queens in same column should be invalid");
+        assertEquals(isValid, isKnownSolution(invalid), "Solution lookup should agree with the pairwise check");
     }
 
     @Test
     @DisplayName("Invalid placement: Queens on diagonal")
     void testIsValidPlacement_Diagonal() throws Exception {
         List<Integer> invalid = Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7);
-        boolean isValid = (boolean) isValidPlacementMethod.invoke(service, invalid);
+        boolean isValid = isValidPlacement(invalid);
         assertFalse(isValid, "Queens on diagonal should be invalid");
+        assertEquals(isValid, isKnownSolution(invalid), "Solution lookup should agree with the pairwise check");
     }
 
     @Test
     @DisplayName("Invalid placement: Wrong size")
     void testIsValidPlacement_WrongSize() throws Exception {
         List<Integer> invalid = Arrays.asList(0, 4, 7);
-        boolean isValid = (boolean) isValidPlacementMethod.invoke(service, invalid);
+        boolean isValid = isValidPlacement(invalid);
         assertFalse(isValid, "Solution with wrong size should be invalid");
+        assertEquals(isValid, isKnownSolution(invalid), "Solution lookup should agree with the pairwise check");
     }
 
     @Test
     @DisplayName("Invalid placement: Null input")
     void testIsValidPlacement_Null() throws Exception {
-        boolean isValid = (boolean) isValidPlacementMethod.invoke(service, (List<Integer>) null);
+        boolean isValid = isValidPlacement((List<Integer>) null);
         assertFalse(isValid, "Null input should be invalid");
+        assertFalse(isKnownSolution(null), "Null input should not match a solution");
+    }
+
+    @Test
+    @DisplayName("Solution lookup: Agrees with the pairwise check on every one-queen-per-column board")
+    void testSolutionLookup_MatchesPairwiseCheck() throws Exception {
+        int found = 0;
+        for (List<Integer> board : permutations(8)) {
+            boolean isValid = isValidPlacement(board);
+            assertEquals(isValid, isKnownSolution(board), "Lookup disagrees on " + board);
+            if (isValid) found++;
+        }
+        assertEquals(92, found, "The pairwise check should accept exactly 92 boards");
     }
 
     // ==================== toCanonicalString Tests ====================
@@ -198,8 +537,8 @@ class EightQueensServiceTest {
     @Test
     @DisplayName("Canonical string: Correct format")
     void testToCanonicalString_Format() throws Exception {
-        List<Integer> solution = Arrays.asList(0, 4, 7, 5, 2, 6, 1, 3);
-        String canonical = (String) toCanonicalStringMethod.invoke(service, solution);
+        int[] solution = {0, 4, 7, 5, 2, 6, 1, 3};
+        String canonical = (String) toCanonicalStringMethod.invoke(service, (Object) solution);
         
         assertEquals("04752613", canonical, "Canonical string should be digits concatenated");
     }
@@ -207,15 +546,63 @@ class EightQueensServiceTest {
     @Test
     @DisplayName("Canonical string: Different solutions have different strings")
     void testToCanonicalString_Unique() throws Exception {
-        List<Integer> sol1 = Arrays.asList(0, 4, 7, 5, 2, 6, 1, 3);
-        List<Integer> sol2 = Arrays.asList(0, 5, 7, 2, 6, 3, 1, 4);
+        int[] sol1 = {0, 4, 7, 5, 2, 6, 1, 3};
+        int[] sol2 = {0, 5, 7, 2, 6, 3, 1, 4};
         
-        String str1 = (String) toCanonicalStringMethod.invoke(service, sol1);
-        String str2 = (String) toCanonicalStringMethod.invoke(service, sol2);
+        String str1 = (String) toCanonicalStringMethod.invoke(service, (Object) sol1);
+        String str2 = (String) toCanonicalStringMethod.invoke(service, (Object) sol2);
         
         assertNotEquals(str1, str2, "Different solutions should have different canonical strings");
     }
 
+    // Independent check: 8 queens on the board, no two sharing a column or diagonal
+    private boolean isValidPlacement(List<Integer> queens) {
+        if (queens == null || queens.size() != 8) return false;
+        for (int r = 0; r < 8; r++) {
+            Integer c = queens.get(r);
+            if (c == null || c < 0 || c > 7) return false;
+            for (int prev = 0; prev < r; prev++) {
+                int pc = queens.get(prev);
+                if (pc == c || Math.abs(pc - c) == r - prev) return false;
+            }
+        }
+        return true;
+    }
+
+    // Whether the service finds the board in its precomputed solution set
+    private boolean isKnownSolution(List<Integer> queens) throws Exception {
+        return (int) solutionIndexMethod.invoke(service, queens) >= 0;
+    }
+
+    // All orderings of 0..n-1
+    private List<List<Integer>> permutations(int n) {
+        List<List<Integer>> result = new ArrayList<>();
+        permute(new ArrayList<>(), new boolean[n], result);
+        return result;
+    }
+
+    private void permute(List<Integer> prefix, boolean[] used, List<List<Integer>> result) {
+        if (prefix.size() == used.length) {
+            result.add(new ArrayList<>(prefix));
+            return;
+        }
+        for (int c = 0; c < used.length; c++) {
+            if (used[c]) continue;
+            used[c] = true;
+            prefix.add(c);
+            permute(prefix, used, result);
+            prefix.remove(prefix.size() - 1);
+            used[c] = false;
+        }
+    }
+
+    private SubmitRequest submitRequest(String playerName, List<Integer> queens) {
+        SubmitRequest request = new SubmitRequest();
+        request.setPlayerName(playerName);
+        request.setQueens(queens);
+        return request;
+    }
+
     // ==================== isSafe Tests ====================
 
     @Test
@@ -1,10 +1,18 @@
 package com.example.games.service;
 
+import com.example.games.entity.HanoiGameResult;
+import com.example.games.repository.HanoiRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 
+import java.io.ByteArrayOutputStream;
+import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -130,6 +138,38 @@ class HanoiServiceTest {
         assertEquals(13, (int) solveFrameStewartMethod.invoke(service, 5, 4), "5 disks with 4 pegs = 13 moves");
     }
 
+    @Test
+    @DisplayName("Frame-Stewart 5-peg known values")
+    void testFrameStewart_FivePegs() throws Exception {
+        int[] expected = {0, 1, 3, 5, 7, 11, 15, 19, 23, 27, 31, 39};
+        for (int n = 0; n < expected.length; n++) {
+            assertEquals(expected[n], (int) solveFrameStewartMethod.invoke(service, n, 5), "For " + n + " disks with 5 pegs");
+        }
+    }
+
+    @Test
+    @DisplayName("Frame-Stewart table: splits reproduce the move counts")
+    void testFrameStewartTable_Splits() {
+        FrameStewartTable table = new FrameStewartTable();
+        assertEquals((1 << 20) - 1, table.moves(20, 3));
+        for (int k = 3; k <= FrameStewartTable.MAX_PEGS; k++) {
+            for (int n = 2; n <= FrameStewartTable.MAX_DISKS; n++) {
+                int m = table.split(n, k);
+                int rest = k == 3 ? 1 : table.moves(n - m, k - 1);
+                assertEquals(table.moves(n, k), 2 * table.moves(m, k) + rest, "n=" + n + ", k=" + k);
+                if (k > n) assertEquals(2 * n - 1, table.moves(n, k), "Enough pegs: every disk moves twice but the largest");
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Start game: 5+ peg games are allowed up to the table limit")
+    void testStartGame_ManyPegs() {
+        assertEquals(6, service.startGame("Tester", 6).getNumPegs());
+        assertThrows(IllegalArgumentException.class, () -> service.startGame("Tester", HanoiService.MAX_PEGS + 1));
+        assertThrows(IllegalArgumentException.class, () -> service.startGame("Tester", 2));
+    }
+
     // ==================== 4-Peg BFS Algorithm Tests ====================
 
     @Test
@@ -153,6 +193,158 @@ class HanoiServiceTest {
         assertEquals(5, result, "3 disks with 4 pegs require 5 moves");
     }
 
+    @Test
+    @DisplayName("BFS 4-peg: 10 disks require 49 moves")
+    void testBFS4_TenDisks() throws Exception {
+        int result = (int) solveBFS4Method.invoke(service, 10);
+        assertEquals(49, result, "10 disks with 4 pegs require 49 moves");
+    }
+
+    @Test
+    @DisplayName("Packed BFS with 3 pegs follows 2^N - 1 formula")
+    void testPackedBFS_ThreePegs() {
+        for (int n = 0; n <= 8; n++) {
+            assertEquals((1 << n) - 1, HanoiStateSpace.shortestPath(n, 3), "For " + n + " disks");
+        }
+    }
+
+    @Test
+    @DisplayName("Packed state: top disk of each peg")
+    void testPackedState_Tops() {
+        // Disks 0 and 2 on peg 1, disk 1 on peg 3, disk 3 on peg 0
+        int state = (1) | (3 << 2) | (1 << 4) | (0 << 6);
+        int[] tops = new int[4];
+        HanoiStateSpace.tops(state, 4, 4, tops);
+        assertArrayEquals(new int[]{3, 0, 4, 1}, tops);
+    }
+
+    // ==================== Bidirectional / Parallel BFS Tests ====================
+
+    @Test
+    @DisplayName("Bidirectional and parallel BFS match one-sided BFS")
+    void testBidirectional_Parallel_MatchBFS() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int pegs = 3; pegs <= 4; pegs++) {
+                for (int n = 0; n <= 9; n++) {
+                    int expected = HanoiStateSpace.shortestPath(n, pegs);
+                    assertEquals(expected, HanoiStateSpace.bidirectional(n, pegs), "Bidirectional, " + n + " disks, " + pegs + " pegs");
+                    assertEquals(expected, HanoiStateSpace.parallelShortestPath(n, pegs, pool), "Parallel, " + n + " disks, " + pegs + " pegs");
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Bidirectional BFS 4-peg: 12 disks require 81 moves")
+    void testBidirectional_TwelveDisks() {
+        assertEquals(81, HanoiStateSpace.bidirectional(12, 4));
+    }
+
+    @Test
+    @DisplayName("Start game: chosen disk count is validated per peg count")
+    void testStartGame_NumDisks() {
+        assertEquals(12, service.startGame("Tester", 4, 12).getNumDisks());
+        assertEquals(15, service.startGame("Tester", 3, 15).getNumDisks());
+        assertThrows(IllegalArgumentException.class, () -> service.startGame("Tester", 4, HanoiService.MAX_DISKS_4_PEGS + 1));
+        assertThrows(IllegalArgumentException.class, () -> service.startGame("Tester", 3, 0));
+
+        int random = service.startGame("Tester", 4).getNumDisks();
+        assertTrue(random >= 5 && random <= 10);
+    }
+
+    @Test
+    @DisplayName("Comparison: 4-peg games report the multicore BFS variants, older rows without them")
+    @SuppressWarnings("unchecked")
+    void testComparison_MulticoreVariants() throws Exception {
+        HanoiGameResult older = fourPegResult(100L, null, null);
+        HanoiGameResult newer = fourPegResult(300L, 40L, 20L);
+        HanoiGameResult newest = fourPegResult(200L, 60L, 30L);
+        Field repoField = HanoiService.class.getDeclaredField("repository");
+        repoField.setAccessible(true);
+        repoField.set(service, Proxy.newProxyInstance(
+            HanoiRepository.class.getClassLoader(), new Class<?>[]{HanoiRepository.class},
+            (proxy, method, args) -> {
+                if (method.getName().equals("findTop15ByOrderByCreatedAtDesc")) return List.of(newest, newer, older);
+                throw new UnsupportedOperationException(method.getName());
+            }));
+
+        Map<String, Object> data = service.getComparisonData();
+        Map<String, Long> averages = (Map<String, Long>) data.get("averages");
+        List<Map<String, Object>> games = (List<Map<String, Object>>) data.get("games");
+
+        assertEquals(200L, averages.get("FrameStewart (4-peg)"));
+        assertEquals(50L, averages.get("Bidirectional BFS (4-peg)"), "Averaged over rows that have it");
+        assertEquals(25L, averages.get("Parallel BFS (4-peg)"));
+        Map<String, Long> newestTimes = (Map<String, Long>) games.get(0).get("algorithmTimes");
+        assertEquals(60L, newestTimes.get("Bidirectional BFS (4-peg)"));
+        assertEquals(30L, newestTimes.get("Parallel BFS (4-peg)"));
+        Map<String, Long> olderTimes = (Map<String, Long>) games.get(2).get("algorithmTimes");
+        assertEquals(Set.of("FrameStewart (4-peg)"), olderTimes.keySet());
+    }
+
+    // ==================== Move Generator Tests ====================
+
+    @Test
+    @DisplayName("Move generator: legal optimal sequences for 3 to 6 pegs")
+    void testMoveGenerator_LegalAndOptimal() {
+        FrameStewartTable table = new FrameStewartTable();
+        for (int pegs = 3; pegs <= 6; pegs++) {
+            for (int n = 0; n <= 10; n++) {
+                int moves = replay(HanoiMoves.optimal(n, pegs, table), n, pegs);
+                assertEquals(table.moves(n, pegs), moves, n + " disks, " + pegs + " pegs");
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Move generator: streamed as JSON move strings")
+    void testMoveGenerator_WriteJson() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.writeMoves(HanoiMoves.optimal(2, 3, new FrameStewartTable()), out);
+        assertEquals("[\"A -> B\",\"A -> C\",\"B -> C\"]", out.toString(StandardCharsets.UTF_8));
+    }
+
+    // ==================== Sequence Validator Tests ====================
+
+    @Test
+    @DisplayName("Validator: optimal sequences in frontend format are valid")
+    void testValidator_OptimalSequences() {
+        FrameStewartTable table = new FrameStewartTable();
+        for (int pegs = 3; pegs <= 5; pegs++) {
+            List<String> moves = new ArrayList<>();
+            PrimitiveIterator.OfInt it = HanoiMoves.optimal(8, pegs, table);
+            while (it.hasNext()) {
+                int move = it.nextInt();
+                moves.add((char) ('A' + HanoiMoves.from(move)) + " -> " + (char) ('A' + HanoiMoves.to(move)) + " ");
+            }
+            assertTrue(HanoiSequenceValidator.validate(moves, 8, pegs).valid(), pegs + " pegs");
+        }
+    }
+
+    @Test
+    @DisplayName("Validator: reports the first illegal move")
+    void testValidator_IllegalMoves() {
+        // Disk 1 onto disk 0
+        HanoiSequenceValidator.Result result = HanoiSequenceValidator.validate(List.of("A -> B ", "A -> B ", "A -> C "), 2, 3);
+        assertFalse(result.valid());
+        assertEquals(1, result.invalidIndex());
+
+        assertEquals(0, HanoiSequenceValidator.validate(List.of("B -> C "), 2, 3).invalidIndex(), "Empty peg");
+        assertEquals(0, HanoiSequenceValidator.validate(List.of("A -> D "), 2, 3).invalidIndex(), "No such peg");
+        assertEquals(1, HanoiSequenceValidator.validate(List.of("A -> B ", "A to C"), 2, 3).invalidIndex(), "Unreadable");
+    }
+
+    @Test
+    @DisplayName("Validator: legal but unfinished sequence is rejected at its end")
+    void testValidator_Unfinished() {
+        HanoiSequenceValidator.Result result = HanoiSequenceValidator.validate(List.of("A -> B ", "A -> C "), 2, 3);
+        assertFalse(result.valid());
+        assertEquals(2, result.invalidIndex());
+    }
+
     // ==================== Frame-Stewart vs BFS Consistency ====================
 
     @Test
@@ -164,4 +356,37 @@ class HanoiServiceTest {
             assertEquals(frameStewart, bfs, "Both algorithms should produce same result for " + n + " disks");
         }
     }
+
+    // ==================== Helper Methods ====================
+
+    private HanoiGameResult fourPegResult(Long frameStewart, Long bidirectional, Long parallelBfs) {
+        HanoiGameResult result = new HanoiGameResult();
+        result.setNumPegs(4);
+        result.setAlgo1Time(frameStewart);
+        result.setAlgo2Time(1000L);
+        result.setAlgo3Time(bidirectional);
+        result.setAlgo4Time(parallelBfs);
+        return result;
+    }
+
+    // Plays the moves on real pegs, checking each one; returns the move count
+    private int replay(PrimitiveIterator.OfInt moves, int n, int pegs) {
+        List<Deque<Integer>> towers = new ArrayList<>();
+        for (int p = 0; p < pegs; p++) towers.add(new ArrayDeque<>());
+        for (int d = n - 1; d >= 0; d--) towers.get(0).push(d);
+
+        int count = 0;
+        while (moves.hasNext()) {
+            int move = moves.nextInt();
+            Deque<Integer> src = towers.get(HanoiMoves.from(move));
+            Deque<Integer> dst = towers.get(HanoiMoves.to(move));
+            assertFalse(src.isEmpty(), "Move " + count + " from an empty peg");
+            assertEquals(HanoiMoves.disk(move), (int) src.peek(), "Move " + count + " disk");
+            assertTrue(dst.isEmpty() || dst.peek() > src.peek(), "Move " + count + " puts a larger disk on a smaller one");
+            dst.push(src.pop());
+            count++;
+        }
+        assertEquals(n, towers.get(pegs - 1).size(), "All disks end on the last peg");
+        return count;
+    }
 }
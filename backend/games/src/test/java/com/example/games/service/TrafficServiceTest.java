@@ -1,19 +1,25 @@
 package com.example.games.service;
 
 import com.example.games.dto.TrafficDTOs.*;
+import com.example.games.repository.TrafficRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 
+import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
  * Unit tests for TrafficService
- * Tests Ford-Fulkerson and Edmonds-Karp algorithms for maximum flow
- * Note: Algorithms use hardcoded source "A" and sink "D"
+ * Tests Ford-Fulkerson, Edmonds-Karp, Dinic and Push-Relabel algorithms for maximum flow
+ * Note: Algorithms use hardcoded source "A" and sink "T"
  * Uses reflection to access private methods
  */
 class TrafficServiceTest {
@@ -21,6 +27,8 @@ class TrafficServiceTest {
     private TrafficService service;
     private Method fordFulkersonMethod;
     private Method edmondsKarpMethod;
+    private Method dinicMethod;
+    private Method pushRelabelMethod;
 
     @BeforeEach
     void setUp() throws Exception {
@@ -32,6 +40,12 @@ class TrafficServiceTest {
         
         edmondsKarpMethod = TrafficService.class.getDeclaredMethod("edmondsKarp", List.class);
         edmondsKarpMethod.setAccessible(true);
+        
+        dinicMethod = TrafficService.class.getDeclaredMethod("dinic", List.class);
+        dinicMethod.setAccessible(true);
+        
+        pushRelabelMethod = TrafficService.class.getDeclaredMethod("pushRelabel", List.class);
+        pushRelabelMethod.setAccessible(true);
     }
 
     // ==================== Ford-Fulkerson Algorithm Tests ====================
@@ -138,6 +152,348 @@ class TrafficServiceTest {
         assertEquals(ffResult, ekResult, "Both should handle disconnected graph same way");
     }
 
+    // ==================== Flow Network Tests ====================
+
+    @Test
+    @DisplayName("Both algorithms find the known max flow to the sink")
+    void testKnownMaxFlow() throws Exception {
+        List<EdgeDTO> edges = createSinkEdges();
+
+        assertEquals(23, (int) fordFulkersonMethod.invoke(service, edges), "Ford-Fulkerson max flow");
+        assertEquals(23, (int) edmondsKarpMethod.invoke(service, edges), "Edmonds-Karp max flow");
+    }
+
+    @Test
+    @DisplayName("Edges in both directions keep their own capacities")
+    void testAntiParallelEdges() throws Exception {
+        List<EdgeDTO> edges = Arrays.asList(
+            new EdgeDTO("A", "B", 5),
+            new EdgeDTO("B", "A", 3),
+            new EdgeDTO("B", "T", 10)
+        );
+
+        assertEquals(5, (int) fordFulkersonMethod.invoke(service, edges));
+        assertEquals(5, (int) edmondsKarpMethod.invoke(service, edges));
+    }
+
+    @Test
+    @DisplayName("Reset restores the original capacities of a shared network")
+    void testNetworkReset() throws Exception {
+        FlowNetwork network = FlowNetwork.build(createSinkEdges());
+        Method ff = TrafficService.class.getDeclaredMethod("fordFulkerson", FlowNetwork.class);
+        ff.setAccessible(true);
+        Method ek = TrafficService.class.getDeclaredMethod("edmondsKarp", FlowNetwork.class);
+        ek.setAccessible(true);
+
+        int first = (int) ff.invoke(service, network);
+        network.reset();
+        int second = (int) ek.invoke(service, network);
+
+        assertEquals(23, first);
+        assertEquals(first, second, "Second algorithm should see the original capacities");
+    }
+
+    // ==================== Dinic and Push-Relabel Tests ====================
+
+    @Test
+    @DisplayName("Dinic and Push-Relabel find the known max flow")
+    void testDinicPushRelabel_KnownMaxFlow() throws Exception {
+        List<EdgeDTO> edges = createSinkEdges();
+
+        assertEquals(23, (int) dinicMethod.invoke(service, edges), "Dinic max flow");
+        assertEquals(23, (int) pushRelabelMethod.invoke(service, edges), "Push-Relabel max flow");
+    }
+
+    @Test
+    @DisplayName("All four algorithms agree on random networks")
+    void testAllAlgorithms_RandomNetworks() throws Exception {
+        Random rand = new Random(42);
+        String[] nodes = {"A", "B", "C", "D", "E", "F", "G", "H", "T"};
+        for (int trial = 0; trial < 200; trial++) {
+            List<EdgeDTO> edges = new ArrayList<>();
+            int m = 5 + rand.nextInt(25);
+            for (int i = 0; i < m; i++) {
+                String u = nodes[rand.nextInt(nodes.length)];
+                String v = nodes[rand.nextInt(nodes.length)];
+                if (!u.equals(v)) edges.add(new EdgeDTO(u, v, 1 + rand.nextInt(20)));
+            }
+
+            int expected = (int) edmondsKarpMethod.invoke(service, edges);
+            assertEquals(expected, (int) fordFulkersonMethod.invoke(service, edges), "Ford-Fulkerson, trial " + trial);
+            assertEquals(expected, (int) dinicMethod.invoke(service, edges), "Dinic, trial " + trial);
+            assertEquals(expected, (int) pushRelabelMethod.invoke(service, edges), "Push-Relabel, trial " + trial);
+        }
+    }
+
+    // ==================== Network Generator Tests ====================
+
+    @Test
+    @DisplayName("Generator: Same seed reproduces the same network")
+    void testGenerator_Seeded() {
+        for (FlowNetworkGenerator.Family family : FlowNetworkGenerator.Family.values()) {
+            List<EdgeDTO> first = new FlowNetworkGenerator(7).generate(family, 400, 0);
+            List<EdgeDTO> second = new FlowNetworkGenerator(7).generate(family, 400, 0);
+
+            assertEquals(first.size(), second.size(), family + " edge count");
+            for (int i = 0; i < first.size(); i++) {
+                assertEquals(first.get(i).getFrom(), second.get(i).getFrom());
+                assertEquals(first.get(i).getTo(), second.get(i).getTo());
+                assertEquals(first.get(i).getCapacity(), second.get(i).getCapacity());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Generator: All algorithms agree on every generated family")
+    void testGenerator_AlgorithmsAgree() throws Exception {
+        for (FlowNetworkGenerator.Family family : FlowNetworkGenerator.Family.values()) {
+            List<EdgeDTO> edges = new FlowNetworkGenerator(11).generate(family, 900, 0);
+
+            int expected = (int) edmondsKarpMethod.invoke(service, edges);
+            assertTrue(expected > 0, family + " should connect source to sink");
+            assertEquals(expected, (int) fordFulkersonMethod.invoke(service, edges), family + " Ford-Fulkerson");
+            assertEquals(expected, (int) dinicMethod.invoke(service, edges), family + " Dinic");
+            assertEquals(expected, (int) pushRelabelMethod.invoke(service, edges), family + " Push-Relabel");
+        }
+    }
+
+    @Test
+    @DisplayName("Generator: Unknown network type is rejected")
+    void testGenerator_UnknownType() {
+        assertThrows(IllegalArgumentException.class, () -> FlowNetworkGenerator.parseFamily("ring"));
+        assertEquals(FlowNetworkGenerator.Family.RANDOM_SPARSE, FlowNetworkGenerator.parseFamily("random-sparse"));
+    }
+
+    @Test
+    @DisplayName("Generator: No family emits parallel edges")
+    void testGenerator_NoParallelEdges() {
+        for (FlowNetworkGenerator.Family family : FlowNetworkGenerator.Family.values()) {
+            List<EdgeDTO> edges = new FlowNetworkGenerator(3).generate(family, 30, 600);
+            Set<String> pairs = new HashSet<>();
+            for (EdgeDTO e : edges) {
+                assertTrue(pairs.add(e.getFrom() + "->" + e.getTo()), family + " repeats " + e.getFrom() + " -> " + e.getTo());
+            }
+        }
+        // More edges than distinct pairs: stops at the pairs available
+        List<EdgeDTO> full = new FlowNetworkGenerator(3).generate(FlowNetworkGenerator.Family.RANDOM_DENSE, 5, 100);
+        assertTrue(full.size() <= 5 * 4 + 2 * 2, "Dense network on 5 nodes has at most every pair plus terminals");
+    }
+
+    // ==================== Iterative DFS Tests ====================
+
+    @Test
+    @DisplayName("Ford-Fulkerson handles a long chain without stack overflow")
+    void testFordFulkerson_DeepChain() throws Exception {
+        List<EdgeDTO> edges = new ArrayList<>();
+        String prev = "A";
+        for (int i = 1; i <= 100_000; i++) {
+            String next = "N" + i;
+            edges.add(new EdgeDTO(prev, next, 7 + (i % 5)));
+            prev = next;
+        }
+        edges.add(new EdgeDTO(prev, "T", 9));
+
+        assertEquals(7, (int) fordFulkersonMethod.invoke(service, edges), "Chain bottleneck is the smallest capacity");
+    }
+
+    @Test
+    @DisplayName("Capacity scaling finds the same max flow")
+    void testFordFulkerson_CapacityScaling() throws Exception {
+        Method scaling = TrafficService.class.getDeclaredMethod("fordFulkerson", FlowNetwork.class, boolean.class);
+        scaling.setAccessible(true);
+        for (FlowNetworkGenerator.Family family : FlowNetworkGenerator.Family.values()) {
+            List<EdgeDTO> edges = new FlowNetworkGenerator(3).generate(family, 900, 0);
+
+            int expected = (int) edmondsKarpMethod.invoke(service, edges);
+            assertEquals(expected, (int) scaling.invoke(service, FlowNetwork.build(edges), true), family + " with scaling");
+        }
+    }
+
+    // ==================== Flow Report Tests ====================
+
+    @Test
+    @DisplayName("Flow report: min cut capacity equals max flow and flows are conserved")
+    void testFlowReport_MinCutAndFlows() throws Exception {
+        Method pushRelabelNetwork = TrafficService.class.getDeclaredMethod("pushRelabel", FlowNetwork.class);
+        pushRelabelNetwork.setAccessible(true);
+        Method report = TrafficService.class.getDeclaredMethod("fillFlowReport", FlowNetwork.class, List.class, TrafficResultResponse.class);
+        report.setAccessible(true);
+
+        List<EdgeDTO> edges = createSinkEdges();
+        FlowNetwork network = FlowNetwork.build(edges);
+        int maxFlow = (int) pushRelabelNetwork.invoke(service, network);
+        TrafficResultResponse response = new TrafficResultResponse();
+        report.invoke(service, network, edges, response);
+
+        int cutCapacity = response.getMinCut().stream().mapToInt(EdgeDTO::getCapacity).sum();
+        assertEquals(23, maxFlow);
+        assertEquals(maxFlow, cutCapacity, "Min cut capacity should equal max flow");
+        assertEquals(3, response.getMinCut().size(), "Cut is B->D, E->D, E->T");
+
+        Map<String, Integer> net = new HashMap<>();
+        for (EdgeFlowDTO f : response.getEdgeFlows()) {
+            assertTrue(f.getFlow() >= 0 && f.getFlow() <= f.getCapacity(), "Flow within capacity");
+            net.merge(f.getFrom(), -f.getFlow(), Integer::sum);
+            net.merge(f.getTo(), f.getFlow(), Integer::sum);
+        }
+        assertEquals(edges.size(), response.getEdgeFlows().size());
+        assertEquals(maxFlow, net.get("T"));
+        assertEquals(-maxFlow, net.get("A"));
+        net.forEach((node, balance) -> {
+            if (!node.equals("A") && !node.equals("T")) assertEquals(0, balance, "Conservation at " + node);
+        });
+    }
+
+    // ==================== What-If Tests ====================
+
+    @Test
+    @DisplayName("What-if: incremental updates match a full re-solve")
+    void testWhatIf_MatchesFullSolve() throws Exception {
+        StartGameRequest start = new StartGameRequest();
+        start.setPlayerName("Tester");
+        start.setNetworkType("RANDOM_SPARSE");
+        start.setNodes(300);
+        start.setSeed(11L);
+        TrafficGameData game = service.startGame(start);
+
+        Random rand = new Random(5);
+        for (int round = 0; round < 40; round++) {
+            List<CapacityChangeDTO> changes = new ArrayList<>();
+            for (int k = 0; k < 3; k++) {
+                EdgeDTO e = game.getEdges().get(rand.nextInt(game.getEdges().size()));
+                int delta = rand.nextInt(21) - 10;
+                if (e.getCapacity() + delta >= 0) changes.add(new CapacityChangeDTO(e.getFrom(), e.getTo(), delta));
+            }
+            WhatIfRequest request = new WhatIfRequest();
+            request.setChanges(changes);
+
+            int incremental = service.whatIf(game.getGameId(), request).getMaxFlow();
+            int expected = (int) edmondsKarpMethod.invoke(service, game.getEdges());
+            assertEquals(expected, incremental, "Round " + round);
+        }
+    }
+
+    @Test
+    @DisplayName("What-if: lowering a cut edge reduces the flow")
+    void testWhatIf_DecreaseCutEdge() {
+        TrafficGameData game = service.startGame("Tester");
+        game.setEdges(new ArrayList<>(createSinkEdges()));
+
+        WhatIfRequest request = new WhatIfRequest();
+        request.setChanges(List.of(new CapacityChangeDTO("E", "T", -4)));
+        TrafficResultResponse response = service.whatIf(game.getGameId(), request);
+
+        assertEquals(19, response.getMaxFlow());
+        assertEquals(0, game.getEdges().get(9).getCapacity());
+    }
+
+    @Test
+    @DisplayName("What-if: invalid changes are rejected without side effects")
+    void testWhatIf_InvalidChange() {
+        TrafficGameData game = service.startGame("Tester");
+        game.setEdges(new ArrayList<>(createSinkEdges()));
+
+        WhatIfRequest request = new WhatIfRequest();
+        request.setChanges(List.of(new CapacityChangeDTO("A", "B", 5), new CapacityChangeDTO("E", "T", -5)));
+        assertThrows(IllegalArgumentException.class, () -> service.whatIf(game.getGameId(), request));
+        assertEquals(16, game.getEdges().get(0).getCapacity(), "First change must not be applied");
+
+        request.setChanges(List.of(new CapacityChangeDTO("A", "X", 1)));
+        assertThrows(IllegalArgumentException.class, () -> service.whatIf(game.getGameId(), request));
+    }
+
+    @Test
+    @DisplayName("What-if: a change to one of several parallel edges is rejected")
+    void testWhatIf_ParallelEdgesRejected() {
+        TrafficGameData game = service.startGame("Tester");
+        game.setEdges(new ArrayList<>(createSinkEdges()));
+        game.getEdges().add(new EdgeDTO("E", "T", 3));
+
+        WhatIfRequest request = new WhatIfRequest();
+        request.setChanges(List.of(new CapacityChangeDTO("E", "T", -1)));
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> service.whatIf(game.getGameId(), request));
+        assertTrue(e.getMessage().startsWith("Ambiguous edge"));
+    }
+
+    @Test
+    @DisplayName("What-if: concurrent solves and changes leave the stored residual consistent")
+    void testWhatIf_ConcurrentWithSolve() throws Exception {
+        Field repoField = TrafficService.class.getDeclaredField("repository");
+        repoField.setAccessible(true);
+        repoField.set(service, Proxy.newProxyInstance(
+            TrafficRepository.class.getClassLoader(), new Class<?>[]{TrafficRepository.class},
+            (proxy, method, args) -> {
+                if (!method.getName().equals("save")) throw new UnsupportedOperationException(method.getName());
+                return args[0];
+            }));
+
+        StartGameRequest start = new StartGameRequest();
+        start.setPlayerName("Tester");
+        start.setNetworkType("RANDOM_SPARSE");
+        start.setNodes(200);
+        start.setSeed(3L);
+        TrafficGameData game = service.startGame(start);
+
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> changes = pool.submit(() -> {
+                Random rand = new Random(9);
+                for (int round = 0; round < 100; round++) {
+                    EdgeDTO e = game.getEdges().get(rand.nextInt(game.getEdges().size()));
+                    WhatIfRequest request = new WhatIfRequest();
+                    // Raises only, so every change is valid whatever ran before it
+                    request.setChanges(List.of(new CapacityChangeDTO(e.getFrom(), e.getTo(), 1 + rand.nextInt(10))));
+                    service.whatIf(game.getGameId(), request);
+                }
+            });
+            Future<?> solves = pool.submit(() -> {
+                for (int round = 0; round < 30; round++) service.solveGame(game.getGameId(), 0);
+            });
+            changes.get();
+            solves.get();
+        } finally {
+            pool.shutdown();
+        }
+
+        WhatIfRequest noChange = new WhatIfRequest();
+        noChange.setChanges(List.of());
+        int expected = (int) edmondsKarpMethod.invoke(service, game.getEdges());
+        assertEquals(expected, service.whatIf(game.getGameId(), noChange).getMaxFlow());
+        assertEquals(expected, service.solveGame(game.getGameId(), 0).getMaxFlow());
+    }
+
+    @Test
+    @DisplayName("What-if: only the most recent residuals are kept; an evicted one is rebuilt")
+    void testWhatIf_ResidualsBounded() throws Exception {
+        Field repoField = TrafficService.class.getDeclaredField("repository");
+        repoField.setAccessible(true);
+        repoField.set(service, Proxy.newProxyInstance(
+            TrafficRepository.class.getClassLoader(), new Class<?>[]{TrafficRepository.class},
+            (proxy, method, args) -> args[0]));
+        Field limit = TrafficService.class.getDeclaredField("maxResiduals");
+        limit.setAccessible(true);
+        limit.setInt(service, 2);
+        Field residualsField = TrafficService.class.getDeclaredField("residuals");
+        residualsField.setAccessible(true);
+        Map<?, ?> residuals = (Map<?, ?>) residualsField.get(service);
+
+        List<TrafficGameData> games = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            TrafficGameData game = service.startGame("Tester");
+            game.setEdges(new ArrayList<>(createSinkEdges()));
+            service.solveGame(game.getGameId(), 0);
+            games.add(game);
+        }
+        assertEquals(2, residuals.size());
+        assertFalse(residuals.containsKey(games.get(0).getGameId()), "Least recently used game is dropped");
+
+        WhatIfRequest request = new WhatIfRequest();
+        request.setChanges(List.of(new CapacityChangeDTO("E", "T", -4)));
+        assertEquals(19, service.whatIf(games.get(0).getGameId(), request).getMaxFlow());
+        assertEquals(2, residuals.size());
+        assertTrue(residuals.containsKey(games.get(0).getGameId()));
+    }
+
     // ==================== Helper Methods ====================
 
     private List<EdgeDTO> createTestEdges() {
@@ -149,4 +505,20 @@ class TrafficServiceTest {
             new EdgeDTO("C", "D", 10)
         );
     }
+
+    // Classic example network (max flow 23) with source A and sink T
+    private List<EdgeDTO> createSinkEdges() {
+        return Arrays.asList(
+            new EdgeDTO("A", "B", 16),
+            new EdgeDTO("A", "C", 13),
+            new EdgeDTO("B", "C", 10),
+            new EdgeDTO("C", "B", 4),
+            new EdgeDTO("B", "D", 12),
+            new EdgeDTO("D", "C", 9),
+            new EdgeDTO("C", "E", 14),
+            new EdgeDTO("E", "D", 7),
+            new EdgeDTO("D", "T", 20),
+            new EdgeDTO("E", "T", 4)
+        );
+    }
 }
@@ -1,12 +1,27 @@
 package com.example.games.service;
 
+import com.example.games.dto.TspDTOs.HeuristicRunDTO;
+import com.example.games.dto.TspDTOs.LargeTspRequest;
+import com.example.games.dto.TspDTOs.LargeTspResult;
+import com.example.games.dto.TspDTOs.SolveTspRequest;
+import com.example.games.dto.TspDTOs.StartGameRequest;
 import com.example.games.dto.TspDTOs.TspGameData;
+import com.example.games.dto.TspDTOs.TspResult;
+import com.example.games.entity.TspGameResult;
+import com.example.games.repository.TspRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 
+import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
 import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -76,6 +91,28 @@ class TspServiceTest {
         assertNotNull(result, "Should return a result for 4 cities");
     }
 
+    @Test
+    @DisplayName("Brute Force: Enumeration and branch-and-bound agree with DP on random games")
+    void testBruteForce_MatchesDP() throws Exception {
+        Method pruned = TspService.class.getDeclaredMethod("solveBruteForce", TspGameData.class, String.class, List.class, boolean.class);
+        pruned.setAccessible(true);
+
+        for (int trial = 0; trial < 5; trial++) {
+            TspGameData data = createRandomGameData(new Random(trial));
+            List<String> cities = new ArrayList<>(Arrays.asList("B", "C", "D", "E", "F", "G", "H", "I"));
+            Collections.shuffle(cities, new Random(trial));
+
+            int expected = distanceOf(solveDPMethod.invoke(service, data, "A", cities));
+            Object full = solveBruteForceMethod.invoke(service, data, "A", cities);
+            Object bnb = pruned.invoke(service, data, "A", cities, true);
+
+            assertEquals(expected, distanceOf(full), "Enumeration, trial " + trial);
+            assertEquals(expected, distanceOf(bnb), "Branch-and-bound, trial " + trial);
+            assertEquals(expected, tourLength(data, pathOf(full)));
+            assertEquals(expected, tourLength(data, pathOf(bnb)));
+        }
+    }
+
     // ==================== Nearest Neighbor Algorithm Tests ====================
 
     @Test
@@ -111,6 +148,49 @@ class TspServiceTest {
         assertNotNull(result, "Should return a result for 4 cities");
     }
 
+    // ==================== Branch and Bound Tests ====================
+
+    @Test
+    @DisplayName("Branch and Bound: matches DP on random games")
+    void testBranchAndBound_MatchesDP() throws Exception {
+        Method bnb = TspService.class.getDeclaredMethod("solveBranchAndBound", TspGameData.class, String.class, List.class);
+        bnb.setAccessible(true);
+
+        for (int trial = 0; trial < 5; trial++) {
+            TspGameData data = createRandomGameData(new Random(200 + trial));
+            List<String> cities = new ArrayList<>(Arrays.asList("B", "C", "D", "E", "F", "G", "H", "I", "J"));
+            Collections.shuffle(cities, new Random(trial));
+            List<String> selected = cities.subList(0, 3 + trial);
+
+            Object result = bnb.invoke(service, data, "A", selected);
+            int expected = distanceOf(solveDPMethod.invoke(service, data, "A", selected));
+            assertEquals(expected, distanceOf(result), "trial " + trial);
+            assertEquals(expected, tourLength(data, pathOf(result)));
+        }
+    }
+
+    @Test
+    @DisplayName("Branch and Bound: parallel search over a shared incumbent finds the Held-Karp optimum")
+    void testBranchAndBound_Parallel() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int trial = 0; trial < 3; trial++) {
+                int[][] dist = randomSymmetric(new Random(300 + trial), 14);
+                int[] seed = new int[13];
+                for (int i = 0; i < 13; i++) seed[i] = i + 1;
+
+                int[] order = ParallelBranchAndBound.solve(dist, seed, pool);
+                assertEquals(13, Arrays.stream(order).distinct().filter(c -> c >= 1 && c <= 13).count());
+                assertEquals(HeldKarp.cost(dist, pool), cost(dist, order), "trial " + trial);
+
+                // An optimal seed leaves nothing strictly better to find
+                assertArrayEquals(order, ParallelBranchAndBound.solve(dist, order, pool));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
     // ==================== Dynamic Programming Tests ====================
 
     @Test
@@ -135,6 +215,84 @@ class TspServiceTest {
         assertNotNull(result, "Should return a result");
     }
 
+    @Test
+    @DisplayName("DP: Tour matches brute force cost and visits every city once")
+    void testDP_PathMatchesBruteForce() throws Exception {
+        TspGameData data = createMockGameData();
+        List<List<String>> selections = Arrays.asList(
+            Arrays.asList("B"),
+            Arrays.asList("C", "B"),
+            Arrays.asList("B", "C", "D"),
+            Arrays.asList("E", "D", "C", "B")
+        );
+        for (List<String> cities : selections) {
+            Object dp = solveDPMethod.invoke(service, data, "A", cities);
+            Object bf = solveBruteForceMethod.invoke(service, data, "A", cities);
+            List<String> path = pathOf(dp);
+
+            assertEquals(distanceOf(bf), distanceOf(dp), "DP cost should equal brute force for " + cities);
+            assertEquals("A", path.get(0));
+            assertEquals("A", path.get(path.size() - 1));
+            assertEquals(new HashSet<>(cities), new HashSet<>(path.subList(1, path.size() - 1)));
+            assertEquals(cities.size() + 2, path.size());
+            assertEquals(distanceOf(dp), tourLength(data, path), "Reconstructed path should have the reported cost");
+        }
+    }
+
+    @Test
+    @DisplayName("DP: subset ranking numbers each layer 0..C(m,k)-1 in numeric order")
+    void testDP_SubsetRanking() {
+        int m = 10;
+        int[] seen = new int[m + 1];
+        for (int mask = 0; mask < 1 << m; mask++) {
+            int k = Integer.bitCount(mask);
+            assertEquals(seen[k], HeldKarp.rank(mask), "rank of " + mask);
+            assertEquals(mask, HeldKarp.unrank(seen[k], k));
+            seen[k]++;
+        }
+    }
+
+    @Test
+    @DisplayName("DP: parallel and two-layer Held-Karp agree with brute force and each other")
+    void testDP_ParallelLayers() throws Exception {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int trial = 0; trial < 5; trial++) {
+                TspGameData data = createRandomGameData(new Random(100 + trial));
+                List<String> cities = Arrays.asList("B", "C", "D", "E", "F", "G", "H", "I", "J");
+                int expected = distanceOf(solveBruteForceMethod.invoke(service, data, "A", cities));
+
+                int[][] dist = new int[10][10];
+                for (int i = 0; i < 10; i++) {
+                    for (int j = 0; j < 10; j++) dist[i][j] = data.distance(i, j);
+                }
+                int[] order = HeldKarp.tour(dist, pool);
+                assertEquals(expected, cost(dist, order), "tour, trial " + trial);
+                assertEquals(expected, HeldKarp.cost(dist, pool), "cost, trial " + trial);
+            }
+
+            // Wide enough layers to be split across the pool
+            int[][] dist = randomSymmetric(new Random(7), 18);
+            int[] order = HeldKarp.tour(dist, pool);
+            assertEquals(17, Arrays.stream(order).distinct().count());
+            assertEquals(cost(dist, order), HeldKarp.cost(dist, pool));
+            assertEquals(cost(dist, order), HeldKarp.cost(dist, ForkJoinPool.commonPool()));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("DP: size limits of the full and two-layer tables")
+    void testDP_Limits() {
+        int[][] tooBigForTour = randomSymmetric(new Random(1), HeldKarp.MAX_TOUR_CITIES + 1);
+        assertThrows(IllegalArgumentException.class, () -> HeldKarp.tour(tooBigForTour, ForkJoinPool.commonPool()));
+        int[][] tooBigForCost = randomSymmetric(new Random(1), HeldKarp.MAX_COST_CITIES + 1);
+        assertThrows(IllegalArgumentException.class, () -> HeldKarp.cost(tooBigForCost, ForkJoinPool.commonPool()));
+        assertArrayEquals(new int[0], HeldKarp.tour(new int[1][1], ForkJoinPool.commonPool()));
+        assertEquals(0, HeldKarp.cost(new int[1][1], ForkJoinPool.commonPool()));
+    }
+
     // ==================== getDistance Tests ====================
 
     @Test
@@ -168,8 +326,328 @@ class TspServiceTest {
         assertEquals(distAB, distBA, "Distance should be symmetric");
     }
 
+    // ==================== Distance Matrix Tests ====================
+
+    @Test
+    @DisplayName("Distance matrix: map form round-trips through the flat matrix")
+    void testDistanceMatrix_RoundTrip() {
+        TspGameData data = createMockGameData();
+        int n = data.getCityCount();
+        assertEquals(5, n);
+        assertEquals(n * n, data.getDistanceMatrix().length);
+        assertEquals(14, data.distance(data.indexOf("A"), data.indexOf("D")));
+        assertEquals(-1, data.indexOf("Z"));
+
+        TspGameData copy = new TspGameData();
+        copy.setDistances(data.getDistances());
+        assertEquals(data.getDistances(), copy.getDistances());
+    }
+
+    @Test
+    @DisplayName("Start game: every city pair gets a symmetric 50-100 km distance")
+    void testStartGame_Matrix() {
+        StartGameRequest request = new StartGameRequest();
+        request.setPlayerName("Tester");
+        TspGameData data = service.startGame(request);
+
+        int n = data.getCityCount();
+        assertEquals(10, n);
+        for (int i = 0; i < n; i++) {
+            assertEquals(0, data.distance(i, i));
+            for (int j = 0; j < n; j++) {
+                assertEquals(data.distance(i, j), data.distance(j, i));
+                if (i != j) assertTrue(data.distance(i, j) >= 50 && data.distance(i, j) <= 100);
+            }
+        }
+        assertTrue(data.indexOf(data.getHomeCity()) >= 0);
+    }
+
+    // ==================== Solved Selection Cache Tests ====================
+
+    @Test
+    @DisplayName("Cache: the same city set in another order reuses the tour and original timings")
+    void testCache_RepeatSelection() throws Exception {
+        List<TspGameResult> saved = useRecordingRepository();
+        StartGameRequest request = new StartGameRequest();
+        request.setPlayerName("Tester");
+        TspGameData data = service.startGame(request);
+        List<String> others = new ArrayList<>(Arrays.asList("A", "B", "C", "D", "E", "F", "G", "H", "I", "J"));
+        others.remove(data.getHomeCity());
+
+        TspResult first = service.solveGame(data.getGameId(), solveRequest(others.subList(0, 6)));
+        List<String> reordered = new ArrayList<>(others.subList(0, 6));
+        Collections.reverse(reordered);
+        TspResult repeat = service.solveGame(data.getGameId(), solveRequest(reordered));
+        TspResult other = service.solveGame(data.getGameId(), solveRequest(others.subList(0, 5)));
+
+        assertFalse(first.isCached());
+        assertTrue(repeat.isCached());
+        assertFalse(other.isCached());
+        assertEquals(first.getMinDistance(), repeat.getMinDistance());
+        assertEquals(first.getOptimalPath(), repeat.getOptimalPath());
+        assertEquals(first.getAlgorithmTimes(), repeat.getAlgorithmTimes());
+        assertEquals(4, first.getAlgorithmTimes().size());
+
+        // Every attempt is still recorded, but only solved selections carry timings
+        assertEquals(3, saved.size());
+        assertNotNull(saved.get(0).getDynamicProgrammingTimeNs());
+        assertNull(saved.get(1).getBruteForceTimeNs());
+        assertNull(saved.get(1).getNearestNeighborTimeNs());
+        assertNull(saved.get(1).getDynamicProgrammingTimeNs());
+        assertNull(saved.get(1).getBranchAndBoundTimeNs());
+        assertNotNull(saved.get(2).getDynamicProgrammingTimeNs());
+        assertEquals(2, service.getComparisonData().get("count"));
+    }
+
+    @Test
+    @DisplayName("Cache: entries are per game")
+    void testCache_PerGame() throws Exception {
+        useRecordingRepository();
+        StartGameRequest request = new StartGameRequest();
+        request.setPlayerName("Tester");
+        TspGameData a = service.startGame(request);
+        TspGameData b = service.startGame(request);
+        // Same map and home, so only the game differs
+        b.setHomeCity(a.getHomeCity());
+        b.setDistances(a.getDistances());
+        List<String> others = new ArrayList<>(Arrays.asList("A", "B", "C", "D", "E", "F", "G", "H", "I", "J"));
+        others.remove(a.getHomeCity());
+        List<String> selection = others.subList(0, 4);
+
+        assertFalse(service.solveGame(a.getGameId(), solveRequest(selection)).isCached());
+        assertTrue(service.solveGame(a.getGameId(), solveRequest(selection)).isCached());
+        assertFalse(service.solveGame(b.getGameId(), solveRequest(selection)).isCached());
+    }
+
+    @Test
+    @DisplayName("Cache: concurrent first submissions solve and time the selection once")
+    void testCache_ConcurrentFirstSubmissions() throws Exception {
+        List<TspGameResult> saved = useRecordingRepository();
+        StartGameRequest request = new StartGameRequest();
+        request.setPlayerName("Tester");
+        TspGameData data = service.startGame(request);
+        List<String> others = new ArrayList<>(Arrays.asList("A", "B", "C", "D", "E", "F", "G", "H", "I", "J"));
+        others.remove(data.getHomeCity());
+
+        int players = 4;
+        CountDownLatch go = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(players);
+        List<Future<TspResult>> results = new ArrayList<>();
+        try {
+            for (int p = 0; p < players; p++) {
+                List<String> order = new ArrayList<>(others);
+                Collections.shuffle(order, new Random(p));
+                results.add(pool.submit(() -> {
+                    go.await();
+                    return service.solveGame(data.getGameId(), solveRequest(order));
+                }));
+            }
+            go.countDown();
+            int solved = 0;
+            for (Future<TspResult> result : results) {
+                if (!result.get().isCached()) solved++;
+            }
+            assertEquals(1, solved, "Exactly one submission runs the solvers");
+        } finally {
+            pool.shutdown();
+        }
+
+        assertEquals(players, saved.size());
+        assertEquals(1, saved.stream().filter(r -> r.getDynamicProgrammingTimeNs() != null).count());
+    }
+
+    // ==================== Large Instance Tests ====================
+
+    @Test
+    @DisplayName("Large: grid neighbour lists match an all-pairs scan")
+    void testLarge_NeighborLists() {
+        EuclideanTsp inst = EuclideanTsp.random(800, 8, 42);
+        for (int i = 0; i < inst.n; i++) {
+            int[] all = new int[inst.n - 1];
+            for (int j = 0, p = 0; j < inst.n; j++) if (j != i) all[p++] = inst.dist(i, j);
+            Arrays.sort(all);
+            assertEquals(8, inst.neighbors[i].length);
+            for (int r = 0; r < 8; r++) {
+                // Rounded distances can tie, so compare lengths rather than cities
+                assertEquals(all[r], inst.dist(i, inst.neighbors[i][r]), "city " + i + " rank " + r);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Large: local searches keep a valid tour and never lengthen it")
+    void testLarge_LocalSearchTours() {
+        for (int n : new int[]{8, 9, 50, 2000}) {
+            EuclideanTsp inst = EuclideanTsp.random(n, 10, n);
+            int[] nn = inst.nearestNeighborTour();
+            assertPermutation(nn);
+            long nnLength = inst.tourLength(nn);
+
+            TourLocalSearch twoOpt = new TourLocalSearch(inst, nn);
+            TourLocalSearch orOpt = new TourLocalSearch(inst, nn);
+            TourLocalSearch chained = new TourLocalSearch(inst, nn);
+            long l2 = twoOpt.twoOpt();
+            long lOr = orOpt.orOpt();
+            long lCh = chained.chained(200, 7);
+
+            for (TourLocalSearch ls : List.of(twoOpt, orOpt, chained)) {
+                assertPermutation(ls.tour());
+                assertEquals(inst.tourLength(ls.tour()), ls.length(), "tracked length, n=" + n);
+            }
+            assertTrue(l2 <= nnLength);
+            assertTrue(lOr <= nnLength);
+            assertTrue(lCh <= lOr, "kicks only keep equal or shorter tours");
+        }
+    }
+
+    @Test
+    @DisplayName("Large: heuristics are compared against Held-Karp on small instances")
+    void testLarge_AgainstHeldKarp() {
+        for (long seed = 0; seed < 5; seed++) {
+            LargeTspRequest request = new LargeTspRequest();
+            request.setCities(12);
+            request.setSeed(seed);
+            LargeTspResult result = service.solveLarge(request);
+
+            assertNotNull(result.getOptimalLength());
+            assertEquals(0.0, result.getRuns().get("HeldKarp").getGapPercent());
+            for (HeuristicRunDTO run : result.getRuns().values()) {
+                assertTrue(run.getLength() >= result.getOptimalLength());
+                assertTrue(run.getGapPercent() >= 0);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Large: thousands of cities, no exact optimum, 2-opt well below nearest neighbour")
+    void testLarge_ManyCities() {
+        LargeTspRequest request = new LargeTspRequest();
+        request.setCities(20000);
+        request.setSeed(1L);
+        request.setKicks(100);
+        LargeTspResult result = service.solveLarge(request);
+
+        assertNull(result.getOptimalLength());
+        Map<String, HeuristicRunDTO> runs = result.getRuns();
+        assertEquals(List.of("NearestNeighbor", "TwoOpt", "OrOpt", "ChainedOrOpt"), new ArrayList<>(runs.keySet()));
+        assertTrue(runs.get("TwoOpt").getLength() < 0.95 * runs.get("NearestNeighbor").getLength());
+        assertTrue(runs.get("ChainedOrOpt").getLength() <= runs.get("OrOpt").getLength());
+    }
+
+    @Test
+    @DisplayName("Large: rejects out-of-range sizes")
+    void testLarge_Validation() {
+        LargeTspRequest request = new LargeTspRequest();
+        request.setCities(2);
+        assertThrows(IllegalArgumentException.class, () -> service.solveLarge(request));
+        request.setCities(EuclideanTsp.MAX_CITIES + 1);
+        assertThrows(IllegalArgumentException.class, () -> service.solveLarge(request));
+        request.setCities(100);
+        request.setKicks(-1);
+        assertThrows(IllegalArgumentException.class, () -> service.solveLarge(request));
+    }
+
     // ==================== Helper Methods ====================
 
+    // Cities A-J with random symmetric distances 50-100, like a real game
+    private TspGameData createRandomGameData(Random random) {
+        String[] cityNames = {"A", "B", "C", "D", "E", "F", "G", "H", "I", "J"};
+        Map<String, Map<String, Integer>> distances = new HashMap<>();
+        for (String c : cityNames) distances.put(c, new HashMap<>());
+        for (int i = 0; i < cityNames.length; i++) {
+            distances.get(cityNames[i]).put(cityNames[i], 0);
+            for (int j = i + 1; j < cityNames.length; j++) {
+                int d = 50 + random.nextInt(51);
+                distances.get(cityNames[i]).put(cityNames[j], d);
+                distances.get(cityNames[j]).put(cityNames[i], d);
+            }
+        }
+        TspGameData data = new TspGameData();
+        data.setGameId(UUID.randomUUID().toString());
+        data.setHomeCity("A");
+        data.setDistances(distances);
+        return data;
+    }
+
+    private void assertPermutation(int[] tour) {
+        boolean[] seen = new boolean[tour.length];
+        for (int c : tour) {
+            assertFalse(seen[c], "city " + c + " appears twice");
+            seen[c] = true;
+        }
+    }
+
+    // Swaps the service's repository for one that keeps saved entities in a list
+    // and returns them from the recent-games query
+    private List<TspGameResult> useRecordingRepository() throws Exception {
+        List<TspGameResult> saved = Collections.synchronizedList(new ArrayList<>());
+        TspRepository repository = (TspRepository) Proxy.newProxyInstance(
+            TspRepository.class.getClassLoader(), new Class<?>[]{TspRepository.class},
+            (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "save":
+                        saved.add((TspGameResult) args[0]);
+                        return args[0];
+                    case "findTop15ByOrderByCreatedAtDesc":
+                        return new ArrayList<>(saved);
+                    default:
+                        throw new UnsupportedOperationException(method.getName());
+                }
+            });
+        Field field = TspService.class.getDeclaredField("repository");
+        field.setAccessible(true);
+        field.set(service, repository);
+        return saved;
+    }
+
+    private SolveTspRequest solveRequest(List<String> cities) {
+        SolveTspRequest request = new SolveTspRequest();
+        request.setVisitedCities(new ArrayList<>(cities));
+        return request;
+    }
+
+    private int[][] randomSymmetric(Random random, int n) {
+        int[][] dist = new int[n][n];
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                dist[i][j] = dist[j][i] = 50 + random.nextInt(51);
+            }
+        }
+        return dist;
+    }
+
+    // Home (0) -> order -> Home
+    private int cost(int[][] dist, int[] order) {
+        int total = 0;
+        int current = 0;
+        for (int next : order) {
+            total += dist[current][next];
+            current = next;
+        }
+        return total + dist[current][0];
+    }
+
+    private int distanceOf(Object pathResult) throws Exception {
+        Field field = pathResult.getClass().getDeclaredField("distance");
+        field.setAccessible(true);
+        return field.getInt(pathResult);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<String> pathOf(Object pathResult) throws Exception {
+        Field field = pathResult.getClass().getDeclaredField("path");
+        field.setAccessible(true);
+        return (List<String>) field.get(pathResult);
+    }
+
+    private int tourLength(TspGameData data, List<String> path) {
+        int total = 0;
+        for (int i = 0; i + 1 < path.size(); i++) {
+            total += data.getDistances().get(path.get(i)).get(path.get(i + 1));
+        }
+        return total;
+    }
+
     private TspGameData createMockGameData() {
         TspGameData data = new TspGameData();
         data.setGameId(UUID.randomUUID().toString());